@@ -15,16 +15,24 @@ import net.stargraph.core.search.Searcher;
 import net.stargraph.model.KBId;
 import net.stargraph.query.Language;
 import net.stargraph.rank.ModifiableIndraParams;
+import net.stargraph.rank.ModifiableRankParams;
+import net.stargraph.rank.ParamsBuilder;
+import net.stargraph.rank.impl.RelatednessClient;
 import org.apache.jena.rdf.model.Model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+import java.io.File;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +50,8 @@ public final class KBCore {
     private KBLoader kbLoader;
     private Model graphModel;
     private Namespace namespace;
+    private ExecutorService queryExecutor;
+    private RelatednessClient relatednessClient;
     private Stargraph stargraph;
     private NER ner;
     private Map<String, Indexer> indexers;
@@ -69,7 +79,7 @@ public final class KBCore {
             this.nerKbName = kbName;
         }
 
-        this.namespace = Namespace.create(kbConfig);
+        this.namespace = Namespace.create(mainConfig, kbConfig);
 
         if (start) {
             initialize();
@@ -114,7 +124,11 @@ public final class KBCore {
             }
         }
 
-        this.ner = new NERSearcher(language, stargraph.getEntitySearcher(), nerKbName);
+        int nerPoolSize = mainConfig.getInt("ner.pool-size");
+        if (nerPoolSize <= 0) {
+            nerPoolSize = Runtime.getRuntime().availableProcessors();
+        }
+        this.ner = new NERSearcher(language, nerPoolSize, stargraph.getEntitySearcher(), nerKbName);
         this.kbLoader = new KBLoader(this);
         this.running = true;
     }
@@ -128,6 +142,17 @@ public final class KBCore {
 
         indexers.values().forEach(Indexer::stop);
         searchers.values().forEach(Searcher::stop);
+        logger.info(marker, "{}", namespace.getCacheReport());
+
+        if (queryExecutor != null) {
+            queryExecutor.shutdownNow();
+            queryExecutor = null;
+        }
+
+        if (relatednessClient != null) {
+            relatednessClient.close();
+            relatednessClient = null;
+        }
 
         this.running = false;
     }
@@ -198,14 +223,61 @@ public final class KBCore {
         return namespace;
     }
 
+    /**
+     * Bounded pool shared by the queries on this KB to resolve their bindings concurrently.
+     */
+    public synchronized ExecutorService getQueryExecutor() {
+        if (queryExecutor == null) {
+            int threads = mainConfig.getInt("query.resolver.threads");
+            threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+            logger.info(marker, "Query resolver threads: {}", threads);
+            queryExecutor = Executors.newFixedThreadPool(threads);
+        }
+        return queryExecutor;
+    }
+
     public GraphSearcher createGraphSearcher() {
         return new JenaGraphSearcher(kbName, stargraph);
     }
 
+    /**
+     * Relatedness params for the query resolution.
+     * Local embeddings, when configured, take the place of the remote distributional service.
+     */
+    public ModifiableRankParams createDistributionalParams() {
+        final String path = "distributional-service.embeddings";
+        if (mainConfig.hasPath(path)) {
+            File file = new File(mainConfig.getString(path));
+            if (!file.isAbsolute()) {
+                file = Paths.get(stargraph.getDataRootDir(), file.getPath()).toFile();
+            }
+            return ParamsBuilder.embeddings(file.getAbsolutePath());
+        }
+        ModifiableIndraParams params = ParamsBuilder.word2vec();
+        configureDistributionalParams(params);
+        return params;
+    }
+
     public void configureDistributionalParams(ModifiableIndraParams params) {
         String indraUrl = stargraph.getMainConfig().getString("distributional-service.rest-url");
         String indraCorpus = stargraph.getMainConfig().getString("distributional-service.corpus");
-        params.url(indraUrl).corpus(indraCorpus).language(language.code);
+        params.url(indraUrl).corpus(indraCorpus).language(language.code).client(getRelatednessClient());
+    }
+
+    /**
+     * Client of the distributional service shared by all rankings on this KB.
+     */
+    public synchronized RelatednessClient getRelatednessClient() {
+        if (relatednessClient == null) {
+            Config cfg = mainConfig.getConfig("distributional-service");
+            relatednessClient = new RelatednessClient(
+                    cfg.getDuration("batch.window", TimeUnit.MILLISECONDS),
+                    cfg.getInt("batch.max-size"),
+                    cfg.getInt("cache.max-size"),
+                    cfg.getInt("threads"),
+                    (int) cfg.getDuration("timeout", TimeUnit.MILLISECONDS));
+        }
+        return relatednessClient;
     }
 
     private void checkRunning() {
@@ -28,6 +28,7 @@ package net.stargraph.core;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.typesafe.config.Config;
 import net.stargraph.StarGraphException;
 import net.stargraph.model.ClassEntity;
@@ -51,28 +52,46 @@ public final class Namespace extends TreeMap<String, String> {
     private static Logger logger = LoggerFactory.getLogger(Namespace.class);
     private static Marker marker = MarkerFactory.getMarker("core");
 
+    private static final String cachePath = "namespace.cache";
+    private static final long defaultCacheSize = 100000;
+
     private Config kbConfig;
-    private Set<String> mainNamespaces;
+    private Set<String> mainNamespaces = Collections.emptySet();
     private Cache<String, String> shortenedURICache;
+    private Cache<String, String> expandedURICache;
+    private volatile Tries tries;
 
-    private Namespace(Config kbConfig) {
+    private Namespace(Config mainConfig, Config kbConfig) {
         super((s1, s2) -> s1.length() == s2.length() ? s1.compareTo(s2) : s2.length() - s1.length()); // reverse order
         this.kbConfig = Objects.requireNonNull(kbConfig);
         this.readMainNamespaces();
         this.readMappings();
-        initCache();
+        initCache(getCacheConfig(Objects.requireNonNull(mainConfig), kbConfig));
     }
 
     private Namespace(String resource) {
         super((s1, s2) -> s1.length() == s2.length() ? s1.compareTo(s2) : s2.length() - s1.length()); // reverse order
         putAll(readNamespaceResource(resource));
-        initCache();
+        initCache(null);
     }
 
-    private void initCache() {
+    private void initCache(Config cacheConfig) {
         // Be aware: Facts for a given Entity may appear 1k times (like a db entry with 1k columns!).
         // Not following this assumption may result in a poorer performance, specially while bulk loading.
-        this.shortenedURICache = CacheBuilder.newBuilder().maximumSize(1000).build();
+        long maxSize = defaultCacheSize;
+        int stripes = 0;
+        if (cacheConfig != null) {
+            maxSize = cacheConfig.getLong("max-size");
+            stripes = cacheConfig.getInt("stripes");
+        }
+        if (stripes <= 0) {
+            stripes = Runtime.getRuntime().availableProcessors();
+        }
+        logger.info(marker, "URI cache size: {}, stripes: {}", maxSize, stripes);
+        this.shortenedURICache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize).concurrencyLevel(stripes).recordStats().build();
+        this.expandedURICache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize).concurrencyLevel(stripes).recordStats().build();
     }
 
     public String shrinkURI(String uri) {
@@ -80,11 +99,7 @@ public final class Namespace extends TreeMap<String, String> {
             return shortenedURICache.get(uri, () -> {
                 // This is the computation we want to avoid using the cache.
                 if (uri.startsWith("http://")) {
-                    for (Map.Entry<String, String> entry : this.entrySet()) {
-                        if (uri.startsWith(entry.getKey())) {
-                            return uri.replace(entry.getKey(), entry.getValue());
-                        }
-                    }
+                    return getTries().shrink.replacePrefix(uri);
                 }
 
                 return uri;
@@ -95,12 +110,52 @@ public final class Namespace extends TreeMap<String, String> {
     }
 
     public String expandURI(String uri) {
-        for (Map.Entry<String, String> entry : this.entrySet()) {
-            if (uri.startsWith(entry.getValue())) {
-                return uri.replace(entry.getValue(), entry.getKey());
-            }
+        try {
+            return expandedURICache.get(uri, () -> getTries().expand.replacePrefix(uri));
+        } catch (ExecutionException e) {
+            throw new StarGraphException(e);
         }
-        return uri;
+    }
+
+    public CacheStats getShrinkCacheStats() {
+        return shortenedURICache.stats();
+    }
+
+    public CacheStats getExpandCacheStats() {
+        return expandedURICache.stats();
+    }
+
+    public String getCacheReport() {
+        CacheStats shrink = getShrinkCacheStats();
+        CacheStats expand = getExpandCacheStats();
+        return String.format("Shrink cache: %d requests, %.2f%% hits, %d evictions. " +
+                        "Expand cache: %d requests, %.2f%% hits, %d evictions.",
+                shrink.requestCount(), shrink.hitRate() * 100, shrink.evictionCount(),
+                expand.requestCount(), expand.hitRate() * 100, expand.evictionCount());
+    }
+
+    @Override
+    public String put(String key, String value) {
+        invalidate();
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends String> map) {
+        invalidate();
+        super.putAll(map);
+    }
+
+    @Override
+    public String remove(Object key) {
+        invalidate();
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+        super.clear();
     }
 
     public static Namespace createDefault() {
@@ -134,8 +189,56 @@ public final class Namespace extends TreeMap<String, String> {
         }
     }
 
-    static Namespace create(Config kbConfig) {
-        return new Namespace(kbConfig);
+    static Namespace create(Config mainConfig, Config kbConfig) {
+        return new Namespace(mainConfig, kbConfig);
+    }
+
+    private Tries getTries() {
+        Tries current = tries;
+        if (current == null) {
+            synchronized (this) {
+                current = tries;
+                if (current == null) {
+                    current = new Tries(this);
+                    tries = current;
+                    logger.debug(marker, "Compiled {} namespace mappings.", current.shrink.size());
+                }
+            }
+        }
+        return current;
+    }
+
+    private void invalidate() {
+        tries = null;
+        // Caches are only initialized after the mappings are read during construction.
+        if (shortenedURICache != null) {
+            shortenedURICache.invalidateAll();
+            expandedURICache.invalidateAll();
+        }
+    }
+
+    private static Config getCacheConfig(Config mainConfig, Config kbConfig) {
+        Config cacheConfig = mainConfig.getConfig(cachePath);
+        if (kbConfig.hasPath(cachePath)) {
+            return kbConfig.getConfig(cachePath).withFallback(cacheConfig);
+        }
+        return cacheConfig;
+    }
+
+    /**
+     * Both lookup directions compiled from the mappings: namespace URI to prefix and prefix to namespace URI.
+     */
+    private static final class Tries {
+        private final PrefixTrie shrink = new PrefixTrie();
+        private final PrefixTrie expand = new PrefixTrie();
+
+        Tries(SortedMap<String, String> mappings) {
+            // Iterating from the longest namespace keeps the expansion chosen by the former linear scan.
+            mappings.forEach((uri, prefix) -> {
+                shrink.putIfAbsent(uri, prefix);
+                expand.putIfAbsent(prefix, uri);
+            });
+        }
     }
 
     private static BufferedReader getReader(String resource) {
@@ -0,0 +1,110 @@
+package net.stargraph.core;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Character trie answering longest-prefix queries in O(|key|), independently of the number of mappings.
+ * Built once and read-only afterwards, hence safe to be shared between threads.
+ */
+final class PrefixTrie {
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Maps the prefix to the value. If the prefix is already mapped the first value is kept.
+     */
+    void putIfAbsent(String prefix, String value) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+        }
+        if (node.value == null) {
+            node.value = Objects.requireNonNull(value);
+            node.prefixLength = prefix.length();
+            size++;
+        }
+    }
+
+    /**
+     * Replaces the longest mapped prefix of the key by its value. The key is returned if no prefix matches.
+     */
+    String replacePrefix(String key) {
+        Node node = root;
+        Node found = null;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+            if (node != null && node.value != null) {
+                found = node;
+            }
+        }
+        return found != null ? found.value + key.substring(found.prefixLength) : key;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // Sorted labels, children[i] is reached through labels[i].
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private String value;
+        private int prefixLength;
+
+        Node child(char c) {
+            int idx = Arrays.binarySearch(labels, c);
+            return idx >= 0 ? children[idx] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int idx = Arrays.binarySearch(labels, c);
+            if (idx >= 0) {
+                return children[idx];
+            }
+
+            int pos = -idx - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            System.arraycopy(labels, pos, newLabels, pos + 1, labels.length - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, children.length - pos);
+            Node child = new Node();
+            newLabels[pos] = c;
+            newChildren[pos] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+    }
+}
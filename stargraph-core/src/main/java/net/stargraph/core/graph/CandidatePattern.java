@@ -0,0 +1,127 @@
+package net.stargraph.core.graph;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * A triple pattern where each position is either a variable, e.g. <code>?VAR_1</code>,
+ * or the alternative URIs it can be bound to. A list of patterns is their join,
+ * the same semantics of the UNION of the cartesian product of the candidates in SPARQL.
+ */
+public final class CandidatePattern {
+    private List<String> subjects;
+    private List<String> predicates;
+    private List<String> objects;
+
+    public CandidatePattern(List<String> subjects, List<String> predicates, List<String> objects) {
+        this.subjects = Collections.unmodifiableList(new ArrayList<>(subjects));
+        this.predicates = Collections.unmodifiableList(new ArrayList<>(predicates));
+        this.objects = Collections.unmodifiableList(new ArrayList<>(objects));
+    }
+
+    public List<String> getSubjects() {
+        return subjects;
+    }
+
+    public List<String> getPredicates() {
+        return predicates;
+    }
+
+    public List<String> getObjects() {
+        return objects;
+    }
+
+    public static boolean isVariable(List<String> terms) {
+        return terms.size() == 1 && terms.get(0).startsWith("?");
+    }
+
+    /**
+     * @return The variable name, without the leading '?'.
+     */
+    public static String getVariable(List<String> terms) {
+        if (!isVariable(terms)) {
+            throw new IllegalArgumentException("Not a variable: " + terms);
+        }
+        return terms.get(0).substring(1);
+    }
+
+    /**
+     * Renders the SPARQL SELECT that the query builder writes for the same candidates.
+     */
+    public static String toSPARQL(List<CandidatePattern> patterns) {
+        StringJoiner tripleJoiner = new StringJoiner(" . \n", "{", "}");
+        for (CandidatePattern pattern : Objects.requireNonNull(patterns)) {
+            StringJoiner stmtJoiner = new StringJoiner("} UNION \n{");
+            // A position without candidates can't match anything.
+            stmtJoiner.setEmptyValue("FILTER(false)");
+            for (String s : format(pattern.subjects)) {
+                for (String p : format(pattern.predicates)) {
+                    for (String o : format(pattern.objects)) {
+                        stmtJoiner.add(s + " " + p + " " + o);
+                    }
+                }
+            }
+            tripleJoiner.add(stmtJoiner.toString());
+        }
+        return String.format("SELECT * WHERE {\n%s\n}", tripleJoiner.toString());
+    }
+
+    private static List<String> format(List<String> terms) {
+        List<String> formatted = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            formatted.add(term.startsWith("?") ? term : String.format("<%s>", term));
+        }
+        return formatted;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CandidatePattern that = (CandidatePattern) o;
+        return subjects.equals(that.subjects) && predicates.equals(that.predicates) && objects.equals(that.objects);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(subjects, predicates, objects);
+    }
+
+    @Override
+    public String toString() {
+        return "CandidatePattern{" +
+                "s=" + subjects +
+                ", p=" + predicates +
+                ", o=" + objects +
+                '}';
+    }
+}
@@ -27,6 +27,7 @@ package net.stargraph.core.graph;
  */
 
 import net.stargraph.model.LabeledEntity;
+import org.apache.jena.query.Query;
 
 import java.util.List;
 import java.util.Map;
@@ -35,6 +36,28 @@ public interface GraphSearcher {
 
     Map<String, List<LabeledEntity>> select(String sparqlQuery);
 
+    Map<String, List<LabeledEntity>> select(Query query);
+
+    /**
+     * Streams the rows of a select query, applying the offset and limit on top of the ones in the query.
+     *
+     * @param offset Rows to skip.
+     * @param limit Maximum number of rows, negative means no limit.
+     */
+    SelectCursor select(String sparqlQuery, long offset, long limit);
+
+    /**
+     * Same as {@link #select(String, long, long)} for an already parsed query, which is left untouched.
+     */
+    SelectCursor select(Query query, long offset, long limit);
+
+    /**
+     * Evaluates the join of the candidate patterns, the same result of the SPARQL they render to.
+     */
+    Map<String, List<LabeledEntity>> select(List<CandidatePattern> patterns);
+
     boolean ask(String sparqlQuery);
 
+    boolean ask(Query query);
+
 }
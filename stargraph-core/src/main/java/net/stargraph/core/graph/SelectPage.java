@@ -0,0 +1,106 @@
+package net.stargraph.core.graph;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.model.LabeledEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A page of select rows plus the opaque cursor to fetch the next one.
+ */
+public final class SelectPage {
+    private static final String cursorPrefix = "offset:";
+
+    private List<Map<String, LabeledEntity>> rows;
+    private String nextCursor;
+
+    private SelectPage(List<Map<String, LabeledEntity>> rows, String nextCursor) {
+        this.rows = Objects.requireNonNull(rows);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Map<String, LabeledEntity>> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * @return Cursor of the next page or <code>null</code> when this is the last one.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Fetches up to <code>pageSize</code> rows starting at the cursor, <code>null</code> means the first page.
+     */
+    public static SelectPage fetch(GraphSearcher searcher, String sparqlQuery, String cursor, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+
+        long offset = decodeCursor(cursor);
+        List<Map<String, LabeledEntity>> rows = new ArrayList<>(Math.min(pageSize, 1024));
+        // One extra row tells if there is a next page.
+        try (SelectCursor selectCursor = searcher.select(sparqlQuery, offset, pageSize + 1)) {
+            while (rows.size() < pageSize && selectCursor.hasNext()) {
+                rows.add(selectCursor.next());
+            }
+            String next = selectCursor.hasNext() ? encodeCursor(offset + pageSize) : null;
+            return new SelectPage(rows, next);
+        }
+    }
+
+    public static String encodeCursor(long offset) {
+        byte[] raw = (cursorPrefix + offset).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(cursorPrefix)) {
+                long offset = Long.parseLong(raw.substring(cursorPrefix.length()));
+                if (offset >= 0) {
+                    return offset;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: '" + cursor + "'", e);
+        }
+        throw new IllegalArgumentException("Invalid cursor: '" + cursor + "'");
+    }
+}
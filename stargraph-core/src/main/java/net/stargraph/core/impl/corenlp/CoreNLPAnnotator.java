@@ -26,7 +26,10 @@ package net.stargraph.core.impl.corenlp;
  * ==========================License-End===============================
  */
 
-import edu.stanford.nlp.ling.HasWord;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.process.PTBTokenizer;
+import edu.stanford.nlp.process.TokenizerFactory;
+import edu.stanford.nlp.process.WordToSentenceProcessor;
 import edu.stanford.nlp.tagger.maxent.MaxentTagger;
 import net.stargraph.UnsupportedLanguageException;
 import net.stargraph.core.query.annotator.Annotator;
@@ -42,9 +45,13 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import static net.stargraph.query.Language.EN;
 
+/**
+ * The tagger keeps its decoding state per call, hence a single instance per language is shared by all threads.
+ * So are the tokenizer factory and the sentence splitter, each text only gets its own tokenizer.
+ */
 public final class CoreNLPAnnotator extends Annotator {
 
-    private Map<Language, MaxentTagger> taggers;
+    private Map<Language, Tagging> taggers;
 
     public CoreNLPAnnotator() {
         taggers = new ConcurrentHashMap<>();
@@ -53,23 +60,42 @@ public final class CoreNLPAnnotator extends Annotator {
 
     @Override
     protected List<Word> doRun(Language language, String sentence) {
-        MaxentTagger tagger = taggers.computeIfAbsent(language, lang -> {
+        return getTagging(language).annotate(sentence);
+    }
+
+    private Tagging getTagging(Language language) {
+        return taggers.computeIfAbsent(language, lang -> {
             if (lang == EN) {
-                return new MaxentTagger("edu/stanford/nlp/models/pos-tagger/english-left3words/english-left3words-distsim.tagger");
+                return new Tagging(lang,
+                        new MaxentTagger("edu/stanford/nlp/models/pos-tagger/english-left3words/english-left3words-distsim.tagger"));
             }
             throw new UnsupportedLanguageException(lang);
         });
+    }
 
-        PartOfSpeechSet partOfSpeechSet = PartOfSpeechSet.getPOSSet(language);
-        List<Word> words = new ArrayList<>();
+    private static final class Tagging {
+        private final MaxentTagger tagger;
+        private final TokenizerFactory<CoreLabel> tokenizerFactory;
+        private final WordToSentenceProcessor<CoreLabel> sentenceSplitter;
+        private final PartOfSpeechSet partOfSpeechSet;
 
-        List<List<HasWord>> sentences = MaxentTagger.tokenizeText(new StringReader(sentence));
-        sentences.forEach(s -> {
-            tagger.tagSentence(s).forEach(taggedWord ->
-                    words.add(new Word(partOfSpeechSet.valueOf(taggedWord.tag()), taggedWord.value())));
-        });
+        Tagging(Language language, MaxentTagger tagger) {
+            this.tagger = tagger;
+            this.tokenizerFactory = PTBTokenizer.coreLabelFactory();
+            this.sentenceSplitter = new WordToSentenceProcessor<>();
+            this.partOfSpeechSet = PartOfSpeechSet.getPOSSet(language);
+        }
 
-        return words;
+        List<Word> annotate(String sentence) {
+            List<Word> words = new ArrayList<>();
+            // Same as MaxentTagger.tokenizeText, without building a DocumentPreprocessor for each text.
+            List<CoreLabel> tokens = tokenizerFactory.getTokenizer(new StringReader(sentence)).tokenize();
+            List<List<CoreLabel>> sentences = sentenceSplitter.process(tokens);
+            sentences.forEach(s -> {
+                tagger.tagSentence(s).forEach(taggedWord ->
+                        words.add(new Word(partOfSpeechSet.valueOf(taggedWord.tag()), taggedWord.value())));
+            });
+            return words;
+        }
     }
-
 }
@@ -36,18 +36,48 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Wrapper class for the classifier of CoreNLP that does Named Entity Recognition.
+ *
+ * A CRF classifier holds decoding state, so each one classifies a single text at a time. The classifiers are
+ * pooled per language and shared by all KBs of that language. Models are loaded lazily, a new instance only when
+ * every loaded one is busy and the pool is not full, otherwise the caller waits for a free instance.
  */
 public class CoreNLPNERClassifier {
     private final static Logger LOGGER = LoggerFactory.getLogger(CoreNLPNERClassifier.class);
 
-    private static AbstractSequenceClassifier<CoreLabel> classifier = null;
+    private static final Map<Language, ClassifierPool> pools = new ConcurrentHashMap<>();
+
+    private final ClassifierPool pool;
 
     public CoreNLPNERClassifier(Language language) {
-        if (classifier == null) {
-            classifier = initCoreNLPNERClassifier(language);
+        this(language, 1);
+    }
+
+    /**
+     * @param poolSize Maximum instances of the model for this language. The first KB of a language sets it.
+     */
+    public CoreNLPNERClassifier(Language language, int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        Objects.requireNonNull(language);
+        this.pool = pools.computeIfAbsent(language, l -> new ClassifierPool(l, poolSize));
+    }
+
+    public List<List<CoreLabel>> classify(String text) {
+        AbstractSequenceClassifier<CoreLabel> classifier = pool.acquire();
+        try {
+            return classifier.classify(text);
+        } finally {
+            pool.release(classifier);
         }
     }
 
@@ -80,7 +110,47 @@ public class CoreNLPNERClassifier {
         return classifier;
     }
 
-    public List<List<CoreLabel>> classify(String text) {
-        return classifier.classify(text);
+    private static final class ClassifierPool {
+        private final Language language;
+        private final int maxSize;
+        private final AtomicInteger created = new AtomicInteger(0);
+        private final BlockingQueue<AbstractSequenceClassifier<CoreLabel>> idle = new LinkedBlockingQueue<>();
+
+        ClassifierPool(Language language, int maxSize) {
+            this.language = language;
+            this.maxSize = maxSize;
+        }
+
+        AbstractSequenceClassifier<CoreLabel> acquire() {
+            AbstractSequenceClassifier<CoreLabel> classifier = idle.poll();
+            if (classifier != null) {
+                return classifier;
+            }
+
+            int count = created.get();
+            while (count < maxSize) {
+                if (created.compareAndSet(count, count + 1)) {
+                    LOGGER.info("Loading {} NER classifier ({}/{})", language, count + 1, maxSize);
+                    try {
+                        return initCoreNLPNERClassifier(language);
+                    } catch (RuntimeException e) {
+                        created.decrementAndGet();
+                        throw e;
+                    }
+                }
+                count = created.get();
+            }
+
+            try {
+                return idle.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StarGraphException("Interrupted while waiting for a NER classifier", e);
+            }
+        }
+
+        void release(AbstractSequenceClassifier<CoreLabel> classifier) {
+            idle.offer(classifier);
+        }
     }
 }
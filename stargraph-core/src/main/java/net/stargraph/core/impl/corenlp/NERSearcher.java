@@ -33,9 +33,7 @@ import net.stargraph.core.ner.NER;
 import net.stargraph.core.search.EntitySearcher;
 import net.stargraph.model.InstanceEntity;
 import net.stargraph.query.Language;
-import net.stargraph.rank.ModifiableSearchParams;
-import net.stargraph.rank.ParamsBuilder;
-import net.stargraph.rank.Scores;
+import net.stargraph.rank.Score;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
@@ -53,7 +51,11 @@ public final class NERSearcher implements NER {
     private boolean reverseNameOrder;
 
     public NERSearcher(Language language, EntitySearcher entitySearcher, String entitySearcherDbId) {
-        this.ner = new CoreNLPNERClassifier(Objects.requireNonNull(language));
+        this(language, 1, entitySearcher, entitySearcherDbId);
+    }
+
+    public NERSearcher(Language language, int poolSize, EntitySearcher entitySearcher, String entitySearcherDbId) {
+        this.ner = new CoreNLPNERClassifier(Objects.requireNonNull(language), poolSize);
         this.entitySearcher = Objects.requireNonNull(entitySearcher);
         this.entitySearcherDbId = Objects.requireNonNull(entitySearcherDbId);
         this.reverseNameOrder = false; //TODO: read from configuration, specific for each KB.
@@ -153,8 +155,14 @@ public final class NERSearcher implements NER {
         return sentenceList.stream().filter(s -> s.size() > 0).collect(Collectors.toList());
     }
 
+    /**
+     * Links in two phases. First the references to previous named entities are collected, they only depend
+     * on the surface forms. Then the distinct surface forms left are linked at once and assigned back.
+     */
     private List<LinkedNamedEntity> linkNamedEntities(List<List<LinkedNamedEntity>> sentenceList) {
         List<LinkedNamedEntity> allNamedEntities = new ArrayList<>();
+        Map<LinkedNamedEntity, LinkedNamedEntity> references = new IdentityHashMap<>();
+        Set<String> surfaceForms = new LinkedHashSet<>();
 
         for (List<LinkedNamedEntity> p : sentenceList) {
             for (LinkedNamedEntity namedEntity : p) {
@@ -166,42 +174,41 @@ public final class NERSearcher implements NER {
 	             */
                 Optional<LinkedNamedEntity> reference = findReference(allNamedEntities, namedEntity.getValue());
 
-                if (!reference.isPresent()) {
-                    // no reference in previous NEs
-                    tryLink(namedEntity);
-                }
-                else {
-                    if (reference.get().isLinked()) {
-                        namedEntity.link(reference.get().getEntity(), reference.get().getScore());
-                    }
+                if (reference.isPresent()) {
+                    references.put(namedEntity, reference.get());
+                } else if (isLinkable(namedEntity)) {
+                    surfaceForms.add(namedEntity.getValue());
                 }
 
                 allNamedEntities.add(namedEntity);
             }
         }
 
+        Map<String, Score> links = surfaceForms.isEmpty() ?
+                Collections.emptyMap() : entitySearcher.linkInstances(entitySearcherDbId, surfaceForms);
+
+        // References always point backwards, thus are linked before.
+        for (LinkedNamedEntity namedEntity : allNamedEntities) {
+            LinkedNamedEntity reference = references.get(namedEntity);
+            if (reference != null) {
+                if (reference.isLinked()) {
+                    namedEntity.link(reference.getEntity(), reference.getScore());
+                }
+            } else if (isLinkable(namedEntity)) {
+                Score link = links.get(namedEntity.getValue());
+                if (link != null) {
+                    namedEntity.link((InstanceEntity) link.getEntry(), link.getValue());
+                }
+            }
+        }
+
         logger.trace(marker, "Linked {} entities.", allNamedEntities.size());
 
         return allNamedEntities;
     }
 
-    private void tryLink(LinkedNamedEntity namedEntity) {
-        if (!namedEntity.getCat().equalsIgnoreCase("DATE")) {
-            //TODO: Limit reduce network latency but can hurt precision in some cases
-            ModifiableSearchParams searchParams =
-                    ModifiableSearchParams.create(this.entitySearcherDbId).term(namedEntity.getValue()).limit(50);
-
-            logger.info(marker, "Trying to link {}", namedEntity);
-
-            final Scores scores = entitySearcher.instanceSearch(searchParams, ParamsBuilder.levenshtein());
-
-            // Currently, we only care about the highest scored entity.
-            if (scores.size() > 0) {
-                InstanceEntity instance = (InstanceEntity) scores.get(0).getEntry();
-                double score = scores.get(0).getValue();
-                namedEntity.link(instance, score);
-            }
-        }
+    private static boolean isLinkable(LinkedNamedEntity namedEntity) {
+        return !namedEntity.getCat().equalsIgnoreCase("DATE");
     }
 
     private static Optional<LinkedNamedEntity> findReference(List<LinkedNamedEntity> namedEntities, String namedEntity) {
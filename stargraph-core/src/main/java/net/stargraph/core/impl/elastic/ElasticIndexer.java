@@ -107,6 +107,12 @@ public final class ElasticIndexer extends BaseIndexer {
         createIndex();
     }
 
+    @Override
+    protected void onCheckpoint() {
+        // No force merge here, too expensive to be done periodically.
+        bulkProcessor.flush();
+    }
+
     @Override
     protected void doFlush() {
         bulkProcessor.flush();
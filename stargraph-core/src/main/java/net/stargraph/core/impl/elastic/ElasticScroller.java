@@ -29,7 +29,9 @@ package net.stargraph.core.impl.elastic;
 import net.stargraph.core.search.SearchQueryHolder;
 import net.stargraph.rank.Score;
 import net.stargraph.rank.Scores;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.search.ClearScrollResponse;
+import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -41,10 +43,12 @@ import org.slf4j.MarkerFactory;
 
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Wrapper around the ES Scrolling API.
+ * Searches limited to a single page are sent without a scroll context.
  */
 public abstract class ElasticScroller implements Iterable<Score> {
     private static String scrollTimeKey = "stargraph.elastic.scroll.time";
@@ -87,8 +91,95 @@ public abstract class ElasticScroller implements Iterable<Score> {
         return scores;
     }
 
+    /**
+     * Fetches all pages through the listener API, no thread is blocked waiting ES.
+     */
+    public CompletableFuture<Scores> getScoresAsync() {
+        final CompletableFuture<Scores> future = new CompletableFuture<>();
+        final Scores scores = new Scores();
+
+        prepareSearch().execute(new ActionListener<SearchResponse>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                String scrollId = response.getScrollId();
+                try {
+                    ESUtils.check(response);
+                    for (SearchHit hit : response.getHits()) {
+                        if (maxEntries >= 0 && scores.size() >= maxEntries) {
+                            break;
+                        }
+                        scores.add(buildScore(hit));
+                    }
+
+                    boolean more = response.getHits().getHits().length > 0 && (maxEntries < 0 || scores.size() < maxEntries);
+                    if (scrollId != null && more) {
+                        logger.trace(marker, "Preparing new batch..");
+                        elasticClient.prepareSearchScroll(scrollId).setScroll(scrollTime).execute(this);
+                        return;
+                    }
+
+                    clearScroll(scrollId);
+                    future.complete(scores);
+                } catch (Exception e) {
+                    clearScroll(scrollId);
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
     protected abstract Score build(SearchHit hit);
 
+    private boolean isScrolling() {
+        return maxEntries < 0 || maxEntries > maxScrollSize;
+    }
+
+    private SearchRequestBuilder prepareSearch() {
+        SearchRequestBuilder request = elasticClient.prepareSearch()
+                .setQuery(holder.getQuery())
+                .storedFields(fields);
+
+        if (isScrolling()) {
+            return request.setScroll(scrollTime).setSize(maxScrollSize);
+        }
+        return request.setSize(maxEntries);
+    }
+
+    private Score buildScore(SearchHit hit) {
+        Score score = build(hit);
+        if (score == null) {
+            throw new IllegalStateException("Can't return a NULL entry");
+        }
+        return score;
+    }
+
+    private void clearScroll(String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        logger.trace(marker, "Clearing scrolling context.");
+        elasticClient.prepareClearScroll(scrollId).execute(new ActionListener<ClearScrollResponse>() {
+            @Override
+            public void onResponse(ClearScrollResponse res) {
+                if (!res.isSucceeded()) {
+                    logger.warn(marker, "Fail to clear scroll {}", scrollId);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                logger.warn(marker, "Fail to clear scroll {}", scrollId, e);
+            }
+        });
+    }
+
     private class InnerIterator implements Iterator<Score> {
         SearchResponse response;
         Iterator<SearchHit> innerIt;
@@ -100,25 +191,21 @@ public abstract class ElasticScroller implements Iterable<Score> {
 
             try {
                 if (innerIt == null) {
-                    response = elasticClient.prepareSearch()
-                            .setScroll(scrollTime)
-                            .setQuery(holder.getQuery())
-                            .storedFields(fields)
-                            .setSize(maxScrollSize).get();
+                    response = prepareSearch().get();
 
                     ESUtils.check(response);
 
                     innerIt = response.getHits().iterator();
                     hasNext = innerIt.hasNext();
+                    scrollId = response.getScrollId();
 
                     if (hasNext) {
-                        scrollId = response.getScrollId();
                         logger.trace(marker, "Iterating over {}", response.getHits().totalHits());
                     }
                 } else {
                     hasNext = innerIt.hasNext();
 
-                    if (!hasNext) {
+                    if (!hasNext && scrollId != null) {
                         logger.trace(marker, "Preparing new batch..");
                         response = elasticClient.prepareSearchScroll(scrollId).setScroll(scrollTime).get();
                         scrollId = response.getScrollId();
@@ -132,13 +219,8 @@ public abstract class ElasticScroller implements Iterable<Score> {
                 return hasNext;
             } finally {
                 if (!hasNext && scrollId != null) {
-                    if (response.getScrollId() != null) {
-                        logger.trace(marker, "Clearing scrolling context.");
-                        ClearScrollResponse res = elasticClient.prepareClearScroll(scrollId).get();
-                        if (!res.isSucceeded()) {
-                            logger.warn(marker, "Fail to clear scroll {}", scrollId);
-                        }
-                    }
+                    clearScroll(scrollId);
+                    scrollId = null;
                 }
             }
         }
@@ -146,10 +228,7 @@ public abstract class ElasticScroller implements Iterable<Score> {
         @Override
         public Score next() {
             try {
-                Score score = build(innerIt.next());
-                if (score == null) {
-                    throw new IllegalStateException("Can't return a NULL entry");
-                }
+                Score score = buildScore(innerIt.next());
                 consumedEntries++;
                 return score;
             } catch (Exception e) {
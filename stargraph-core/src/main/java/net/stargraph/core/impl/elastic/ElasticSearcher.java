@@ -27,6 +27,7 @@ package net.stargraph.core.impl.elastic;
  */
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import net.stargraph.StarGraphException;
 import net.stargraph.core.Stargraph;
 import net.stargraph.core.search.BaseSearcher;
 import net.stargraph.core.search.SearchQueryHolder;
@@ -41,6 +42,8 @@ import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 public final class ElasticSearcher extends BaseSearcher {
     private ObjectMapper mapper;
@@ -75,32 +78,39 @@ public final class ElasticSearcher extends BaseSearcher {
 
     @Override
     public Scores search(SearchQueryHolder holder) {
-        ElasticScroller scroller = null;
-        long start = System.nanoTime();
-
         try {
-            String modelName = holder.getSearchParams().getKbId().getModel();
-            Class<Serializable> modelClass = BuiltInModel.getModelClass(modelName);
+            return searchAsync(holder).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StarGraphException("Interrupted while searching.", e);
+        } catch (ExecutionException e) {
+            throw new StarGraphException("Search failure.", e.getCause());
+        }
+    }
 
-            scroller = new ElasticScroller(esClient, holder) {
-                @Override
-                protected Score build(SearchHit hit) {
-                    try {
-                        Serializable entity = mapper.readValue(hit.source(), modelClass);
-                        return new Score(entity, hit.getScore());
-                    } catch (Exception e) {
-                        logger.error(marker, "Fail to deserialize {}", hit.sourceAsString(), e);
-                    }
-                    return null;
+    @Override
+    public CompletableFuture<Scores> searchAsync(SearchQueryHolder holder) {
+        long start = System.nanoTime();
+        String modelName = holder.getSearchParams().getKbId().getModel();
+        Class<Serializable> modelClass = BuiltInModel.getModelClass(modelName);
+
+        ElasticScroller scroller = new ElasticScroller(esClient, holder) {
+            @Override
+            protected Score build(SearchHit hit) {
+                try {
+                    Serializable entity = mapper.readValue(hit.source(), modelClass);
+                    return new Score(entity, hit.getScore());
+                } catch (Exception e) {
+                    logger.error(marker, "Fail to deserialize {}", hit.sourceAsString(), e);
                 }
-            };
+                return null;
+            }
+        };
 
-            return scroller.getScores();
-        }
-        finally {
+        return scroller.getScoresAsync().whenComplete((scores, error) -> {
             double elapsedInMillis = (System.nanoTime() - start) / 1000_000;
             logger.debug(marker, "Took {}ms, {}, fetched {} entries.", elapsedInMillis,
-                    holder.getQuery(), scroller != null ? scroller.getScores().size() : 0);
-        }
+                    holder.getQuery(), scores != null ? scores.size() : 0);
+        });
     }
 }
@@ -0,0 +1,411 @@
+package net.stargraph.core.impl.hdt;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.core.graph.CandidatePattern;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+import org.apache.jena.sparql.engine.binding.BindingMap;
+import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdtjena.HDTGraph;
+import org.rdfhdt.hdtjena.NodeDictionary;
+
+import java.util.*;
+
+/**
+ * Probes the HDT triple index with dictionary IDs, without going through the SPARQL engine.
+ * Patterns are joined on IDs, terms are only translated to nodes for the final solutions.
+ */
+public final class HDTTripleIndex {
+    private HDT hdt;
+    private NodeDictionary dictionary;
+
+    private HDTTripleIndex(HDTGraph graph) {
+        this.hdt = Objects.requireNonNull(graph).getHDT();
+        this.dictionary = graph.getNodeDictionary();
+    }
+
+    /**
+     * @return The index of a HDT backed model or <code>null</code> for any other model.
+     */
+    public static HDTTripleIndex of(Model model) {
+        Graph graph = Objects.requireNonNull(model).getGraph();
+        return graph instanceof HDTGraph ? new HDTTripleIndex((HDTGraph) graph) : null;
+    }
+
+    /**
+     * Checks if at least one triple matches. Variables and {@link Node#ANY} match anything.
+     * Stops on the first match, a term missing from the dictionary answers without touching the triples.
+     */
+    public boolean exists(Triple pattern) {
+        Node s = anyIfVariable(pattern.getSubject());
+        Node p = anyIfVariable(pattern.getPredicate());
+        Node o = anyIfVariable(pattern.getObject());
+        TripleID patternId = dictionary.getTriplePatID(Triple.createMatch(s, p, o));
+
+        // Zero is the wildcard ID, a bound term must resolve to a positive one.
+        if (missing(s, patternId.getSubject()) || missing(p, patternId.getPredicate()) || missing(o, patternId.getObject())) {
+            return false;
+        }
+
+        return hdt.getTriples().search(patternId).hasNext();
+    }
+
+    /**
+     * Evaluates the join of the candidate patterns.
+     *
+     * @return The solutions, each binds all the variables of the patterns. Computed lazily while iterating.
+     */
+    public Iterator<Binding> select(List<CandidatePattern> patterns) {
+        Dictionary dict = hdt.getDictionary();
+        List<String> varNames = new ArrayList<>();
+        List<Compiled> compiled = new ArrayList<>();
+
+        for (CandidatePattern pattern : patterns) {
+            Compiled c = new Compiled(
+                    compile(pattern.getSubjects(), TripleComponentRole.SUBJECT, varNames, dict),
+                    compile(pattern.getPredicates(), TripleComponentRole.PREDICATE, varNames, dict),
+                    compile(pattern.getObjects(), TripleComponentRole.OBJECT, varNames, dict));
+            if (c.isEmpty()) {
+                return Collections.emptyIterator();
+            }
+            compiled.add(c);
+        }
+
+        // Solutions are arrays of IDs indexed by variable, zero is unbound.
+        TripleComponentRole[] varRoles = new TripleComponentRole[varNames.size()];
+        Iterator<long[]> solutions = new JoinIterator(order(compiled), new long[varNames.size()], varRoles);
+
+        return toBindings(solutions, varNames, varRoles);
+    }
+
+    /**
+     * Depth-first nested loop join, a solution is only extended when the next one is requested.
+     * Thus memory is bounded by the number of patterns and not by the intermediate results.
+     */
+    private final class JoinIterator implements Iterator<long[]> {
+        private final List<Compiled> patterns;
+        private final TripleComponentRole[] varRoles;
+        // The iterator on top yields the solutions joined with the first (size - 1) patterns.
+        private final Deque<Iterator<long[]>> stack = new ArrayDeque<>();
+        private long[] nextSolution;
+
+        JoinIterator(List<Compiled> patterns, long[] initial, TripleComponentRole[] varRoles) {
+            this.patterns = patterns;
+            this.varRoles = varRoles;
+            this.stack.push(Collections.singletonList(initial).iterator());
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (nextSolution == null && !stack.isEmpty()) {
+                Iterator<long[]> top = stack.peek();
+                if (!top.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+                long[] solution = top.next();
+                int joined = stack.size() - 1;
+                if (joined == patterns.size()) {
+                    nextSolution = solution;
+                }
+                else {
+                    stack.push(new MatchIterator(patterns.get(joined), solution, varRoles));
+                }
+            }
+            return nextSolution != null;
+        }
+
+        @Override
+        public long[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long[] solution = nextSolution;
+            nextSolution = null;
+            return solution;
+        }
+    }
+
+    /**
+     * The solution extended by each triple matching the pattern.
+     */
+    private final class MatchIterator implements Iterator<long[]> {
+        private final Compiled pattern;
+        private final long[] solution;
+        private final TripleComponentRole[] varRoles;
+        private final long[] sIds;
+        private final long[] pIds;
+        private final long[] oIds;
+        private int combination;
+        private IteratorTripleID triples;
+        private long[] nextSolution;
+
+        MatchIterator(Compiled pattern, long[] solution, TripleComponentRole[] varRoles) {
+            this.pattern = pattern;
+            this.solution = solution;
+            this.varRoles = varRoles;
+            this.sIds = pattern.s.candidates(solution, varRoles);
+            this.pIds = pattern.p.candidates(solution, varRoles);
+            this.oIds = pattern.o.candidates(solution, varRoles);
+        }
+
+        @Override
+        public boolean hasNext() {
+            int combinations = sIds.length * pIds.length * oIds.length;
+            while (nextSolution == null) {
+                if (triples == null || !triples.hasNext()) {
+                    if (combination == combinations) {
+                        return false;
+                    }
+                    int c = combination++;
+                    long o = oIds[c % oIds.length];
+                    long p = pIds[(c / oIds.length) % pIds.length];
+                    long s = sIds[c / (oIds.length * pIds.length)];
+                    triples = hdt.getTriples().search(new TripleID(s, p, o));
+                    continue;
+                }
+
+                TripleID triple = triples.next();
+                long[] next = solution.clone();
+                if (pattern.s.bind(triple.getSubject(), next, varRoles)
+                        && pattern.p.bind(triple.getPredicate(), next, varRoles)
+                        && pattern.o.bind(triple.getObject(), next, varRoles)) {
+                    nextSolution = next;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public long[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long[] next = nextSolution;
+            nextSolution = null;
+            return next;
+        }
+    }
+
+    /**
+     * Greedy join order: the cheapest pattern first, then the cheapest one sharing a variable with those already joined.
+     */
+    private List<Compiled> order(List<Compiled> patterns) {
+        List<Compiled> pending = new ArrayList<>(patterns);
+        pending.forEach(p -> p.estimate = estimate(p));
+        List<Compiled> ordered = new ArrayList<>(patterns.size());
+        Set<Integer> joinedVars = new HashSet<>();
+
+        while (!pending.isEmpty()) {
+            Compiled best = null;
+            for (Compiled candidate : pending) {
+                boolean connected = candidate.sharesVariable(joinedVars);
+                boolean bestConnected = best != null && best.sharesVariable(joinedVars);
+                if (best == null || (connected && !bestConnected)
+                        || (connected == bestConnected && candidate.estimate < best.estimate)) {
+                    best = candidate;
+                }
+            }
+            pending.remove(best);
+            ordered.add(best);
+            best.collectVariables(joinedVars);
+        }
+
+        return ordered;
+    }
+
+    private long estimate(Compiled pattern) {
+        long total = 0;
+        long[] unbound = new long[0];
+        for (long s : pattern.s.candidates(unbound, null)) {
+            for (long p : pattern.p.candidates(unbound, null)) {
+                for (long o : pattern.o.candidates(unbound, null)) {
+                    total += hdt.getTriples().search(new TripleID(s, p, o)).estimatedNumResults();
+                }
+            }
+        }
+        return total;
+    }
+
+    private Iterator<Binding> toBindings(Iterator<long[]> it, List<String> varNames, TripleComponentRole[] varRoles) {
+        Var[] vars = varNames.stream().map(Var::alloc).toArray(Var[]::new);
+        return new Iterator<Binding>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Binding next() {
+                long[] solution = it.next();
+                BindingMap binding = BindingFactory.create();
+                for (int i = 0; i < vars.length; i++) {
+                    binding.add(vars[i], dictionary.getNode(solution[i], varRoles[i]));
+                }
+                return binding;
+            }
+        };
+    }
+
+    private static Position compile(List<String> terms, TripleComponentRole role, List<String> varNames, Dictionary dict) {
+        if (CandidatePattern.isVariable(terms)) {
+            String name = CandidatePattern.getVariable(terms);
+            int idx = varNames.indexOf(name);
+            if (idx < 0) {
+                idx = varNames.size();
+                varNames.add(name);
+            }
+            return new Position(role, idx, null, dict);
+        }
+
+        // Candidates missing from the dictionary can't match, the others are deduplicated keeping its order.
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String term : terms) {
+            long id = dict.stringToId(NodeDictionary.nodeToStr(NodeFactory.createURI(term)), role);
+            if (id > 0) {
+                ids.add(id);
+            }
+        }
+        return new Position(role, -1, ids.stream().mapToLong(Long::longValue).toArray(), dict);
+    }
+
+    private static final class Compiled {
+        private Position s;
+        private Position p;
+        private Position o;
+        private long estimate;
+
+        Compiled(Position s, Position p, Position o) {
+            this.s = s;
+            this.p = p;
+            this.o = o;
+        }
+
+        boolean isEmpty() {
+            return s.isEmpty() || p.isEmpty() || o.isEmpty();
+        }
+
+        boolean sharesVariable(Set<Integer> vars) {
+            return vars.contains(s.var) || vars.contains(p.var) || vars.contains(o.var);
+        }
+
+        void collectVariables(Set<Integer> vars) {
+            for (Position position : Arrays.asList(s, p, o)) {
+                if (position.var >= 0) {
+                    vars.add(position.var);
+                }
+            }
+        }
+    }
+
+    private static final class Position {
+        private static final long[] WILDCARD = new long[] {0};
+        private static final long[] NONE = new long[0];
+
+        private TripleComponentRole role;
+        private int var;
+        private long[] ids;
+        private Dictionary dict;
+
+        Position(TripleComponentRole role, int var, long[] ids, Dictionary dict) {
+            this.role = role;
+            this.var = var;
+            this.ids = ids;
+            this.dict = dict;
+        }
+
+        boolean isEmpty() {
+            return var < 0 && ids.length == 0;
+        }
+
+        /**
+         * IDs to search for, a bound variable is converted to the ID of this role.
+         */
+        long[] candidates(long[] solution, TripleComponentRole[] varRoles) {
+            if (var < 0) {
+                return ids;
+            }
+            if (var >= solution.length || solution[var] == 0) {
+                return WILDCARD;
+            }
+            long id = convert(solution[var], varRoles[var]);
+            return id > 0 ? new long[] {id} : NONE;
+        }
+
+        /**
+         * Binds the matched ID, failing when a variable repeated in the same triple doesn't agree.
+         */
+        boolean bind(long id, long[] solution, TripleComponentRole[] varRoles) {
+            if (var < 0) {
+                return true;
+            }
+            if (solution[var] == 0) {
+                if (varRoles[var] == null) {
+                    varRoles[var] = role;
+                }
+                solution[var] = convert(id, role, varRoles[var]);
+                return solution[var] > 0;
+            }
+            return convert(solution[var], varRoles[var]) == id;
+        }
+
+        private long convert(long id, TripleComponentRole from) {
+            return convert(id, from, role);
+        }
+
+        private long convert(long id, TripleComponentRole from, TripleComponentRole to) {
+            if (from == to) {
+                return id;
+            }
+            if (from != TripleComponentRole.PREDICATE && to != TripleComponentRole.PREDICATE) {
+                // Subjects and objects share the IDs of the terms playing both roles, the others can't cross.
+                return id <= dict.getNshared() ? id : -1;
+            }
+            CharSequence str = dict.idToString(id, from);
+            return str != null ? dict.stringToId(str, to) : -1;
+        }
+    }
+
+    private static boolean missing(Node node, long id) {
+        return node != Node.ANY && id <= 0;
+    }
+
+    private static Node anyIfVariable(Node node) {
+        return node == null || node.isVariable() ? Node.ANY : node;
+    }
+}
@@ -26,21 +26,26 @@ package net.stargraph.core.impl.jena;
  * ==========================License-End===============================
  */
 
-import net.stargraph.ModelUtils;
-import net.stargraph.core.KBCore;
 import net.stargraph.core.Namespace;
 import net.stargraph.core.Stargraph;
+import net.stargraph.core.graph.CandidatePattern;
 import net.stargraph.core.graph.GraphSearcher;
+import net.stargraph.core.graph.SelectCursor;
+import net.stargraph.core.impl.hdt.HDTTripleIndex;
 import net.stargraph.core.search.EntitySearcher;
 import net.stargraph.model.LabeledEntity;
-import net.stargraph.model.ValueEntity;
-import org.apache.jena.graph.impl.LiteralLabel;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.query.Query;
 import org.apache.jena.query.QueryExecution;
 import org.apache.jena.query.QueryExecutionFactory;
-import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.QueryFactory;
 import org.apache.jena.rdf.model.Model;
-import org.apache.jena.sparql.core.Var;
-import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.core.TriplePath;
+import org.apache.jena.sparql.syntax.Element;
+import org.apache.jena.sparql.syntax.ElementGroup;
+import org.apache.jena.sparql.syntax.ElementPathBlock;
+import org.apache.jena.sparql.syntax.ElementTriplesBlock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
@@ -55,54 +60,168 @@ public final class JenaGraphSearcher implements GraphSearcher {
     private EntitySearcher entitySearcher;
     private Model graphModel;
     private String dbId;
+    private int batchSize;
+    private HDTTripleIndex tripleIndex;
 
     public JenaGraphSearcher(String dbId, Stargraph stargraph) {
         this.dbId = Objects.requireNonNull(dbId);
         this.entitySearcher = stargraph.getEntitySearcher();
         this.graphModel = stargraph.getKBCore(dbId).getGraphModel();
         this.ns = stargraph.getKBCore(dbId).getNamespace();
+        this.batchSize = stargraph.getMainConfig().getInt("entity-searcher.fetch-chunk-size");
+        this.tripleIndex = HDTTripleIndex.of(graphModel);
     }
 
     @Override
     public Map<String, List<LabeledEntity>> select(String sparqlQuery) {
-        return doSparqlQuery(sparqlQuery);
+        return doSparqlQuery(QueryFactory.create(sparqlQuery));
     }
 
     @Override
-    public boolean ask(String sparqlQuery) {
-        return false;
+    public Map<String, List<LabeledEntity>> select(Query query) {
+        return doSparqlQuery(query);
     }
 
-    private Map<String, List<LabeledEntity>> doSparqlQuery(String sparqlQuery) {
-        logger.debug(marker, "Executing: {}", sparqlQuery);
+    @Override
+    public SelectCursor select(String sparqlQuery, long offset, long limit) {
+        return select(QueryFactory.create(sparqlQuery), offset, limit);
+    }
+
+    @Override
+    public SelectCursor select(Query query, long offset, long limit) {
+        logger.debug(marker, "Streaming: {}, offset={}, limit={}", query, offset, limit);
+
+        if (!query.isSelectType()) {
+            throw new IllegalArgumentException("Not a SELECT query: " + query);
+        }
+
+        if (offset < 0) {
+            throw new IllegalArgumentException("Negative offset: " + offset);
+        }
+
+        // Paging is pushed down to ARQ so skipped rows are never hydrated.
+        long baseOffset = query.hasOffset() ? query.getOffset() : 0;
+        long baseLimit = query.hasLimit() ? query.getLimit() : -1;
+        long remaining = baseLimit < 0 ? -1 : Math.max(0, baseLimit - offset);
+        long effectiveLimit = limit < 0 ? remaining : (remaining < 0 ? limit : Math.min(limit, remaining));
 
+        if (offset > 0 || effectiveLimit >= 0) {
+            query = query.cloneQuery();
+            if (offset > 0) {
+                query.setOffset(baseOffset + offset);
+            }
+            if (effectiveLimit >= 0) {
+                query.setLimit(effectiveLimit);
+            }
+        }
+
+        return new JenaSelectCursor(QueryExecutionFactory.create(query, graphModel), dbId, ns, entitySearcher, batchSize);
+    }
+
+    @Override
+    public Map<String, List<LabeledEntity>> select(List<CandidatePattern> patterns) {
+        if (tripleIndex == null) {
+            return doSparqlQuery(QueryFactory.create(CandidatePattern.toSPARQL(patterns)));
+        }
+
+        logger.debug(marker, "Executing on HDT: {}", patterns);
         long startTime = System.currentTimeMillis();
 
-        Map<String, List<LabeledEntity>> result = new LinkedHashMap<>();
+        // Evaluated on the HDT IDs, only the solutions are translated.
+        Map<String, List<LabeledEntity>> result =
+                collect(new JenaSelectCursor(tripleIndex.select(patterns), () -> {}, dbId, ns, entitySearcher, batchSize));
 
-        try (QueryExecution qexec = QueryExecutionFactory.create(sparqlQuery, graphModel)) {
-            ResultSet results = qexec.execSelect();
-
-            while (results.hasNext()) {
-                Binding jBinding = results.nextBinding();
-                Iterator<Var> vars = jBinding.vars();
-                while (vars.hasNext()) {
-                    Var jVar = vars.next();
-
-                    if (!jBinding.get(jVar).isLiteral()) {
-                        String id = jBinding.get(jVar).getURI();
-                        List<LabeledEntity> entities = result.computeIfAbsent(jVar.getVarName(), (v) -> new ArrayList<>());
-                        LabeledEntity labeledEntity = ns.isFromMainNS(id) ? entitySearcher.getEntity(dbId, id) : ModelUtils.createInstance(id);
-                        entities.add(labeledEntity);
-                    } else {
-                        LiteralLabel lit = jBinding.get(jVar).getLiteral();
-                        ValueEntity valueEntity = new ValueEntity(lit.getLexicalForm(), lit.getDatatype().getURI(), lit.language());
-                        result.computeIfAbsent(jVar.getVarName(), (v) -> new ArrayList<>()).add(valueEntity);
-                    }
-                }
+        long millis = System.currentTimeMillis() - startTime;
+        if (!result.isEmpty()) {
+            logger.info(marker, "HDT {} query took {}s", patterns, millis / 1000.0);
+        }
+        else {
+            logger.warn(marker, "No matches for {}", patterns);
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean ask(String sparqlQuery) {
+        return ask(QueryFactory.create(sparqlQuery));
+    }
+
+    @Override
+    public boolean ask(Query query) {
+        logger.debug(marker, "Asking: {}", query);
+        long startTime = System.nanoTime();
+
+        if (!query.isAskType()) {
+            throw new IllegalArgumentException("Not an ASK query: " + query);
+        }
+
+        boolean answer;
+        Triple pattern = tripleIndex != null ? getSingleTriplePattern(query) : null;
+        if (pattern != null) {
+            // Existence check straight on the HDT index, stops on the first match.
+            answer = tripleIndex.exists(pattern);
+        }
+        else {
+            try (QueryExecution qexec = QueryExecutionFactory.create(query, graphModel)) {
+                answer = qexec.execAsk();
+            }
+        }
+
+        logger.info(marker, "SPARQL {} ask took {}ms, fast-path={}, answer={}",
+                query, (System.nanoTime() - startTime) / 1000000.0, pattern != null, answer);
+
+        return answer;
+    }
+
+    /**
+     * @return The only triple of a query made of a single basic pattern, otherwise <code>null</code>.
+     */
+    private static Triple getSingleTriplePattern(Query query) {
+        if (query.hasValues()) {
+            return null;
+        }
+
+        Element element = query.getQueryPattern();
+        // Unwraps nested groups like the ones produced by the SPARQLQueryBuilder.
+        while (element instanceof ElementGroup && ((ElementGroup) element).getElements().size() == 1) {
+            element = ((ElementGroup) element).getElements().get(0);
+        }
+
+        Triple triple = null;
+        if (element instanceof ElementPathBlock) {
+            List<TriplePath> paths = ((ElementPathBlock) element).getPattern().getList();
+            if (paths.size() == 1 && paths.get(0).isTriple()) {
+                triple = paths.get(0).asTriple();
+            }
+        }
+        else if (element instanceof ElementTriplesBlock) {
+            List<Triple> triples = ((ElementTriplesBlock) element).getPattern().getList();
+            if (triples.size() == 1) {
+                triple = triples.get(0);
             }
+        }
 
+        if (triple != null) {
+            // A repeated variable is a join, e.g. '?x :p ?x'. Let the engine handle it.
+            Set<Node> vars = new HashSet<>();
+            for (Node node : Arrays.asList(triple.getSubject(), triple.getPredicate(), triple.getObject())) {
+                if (node.isVariable() && !vars.add(node)) {
+                    return null;
+                }
+            }
         }
+
+        return triple;
+    }
+
+    private Map<String, List<LabeledEntity>> doSparqlQuery(Query sparqlQuery) {
+        logger.debug(marker, "Executing: {}", sparqlQuery);
+
+        long startTime = System.currentTimeMillis();
+
+        Map<String, List<LabeledEntity>> result = collect(select(sparqlQuery, 0, -1));
+
         long millis = System.currentTimeMillis() - startTime;
 
         if (!result.isEmpty()) {
@@ -114,4 +233,13 @@ public final class JenaGraphSearcher implements GraphSearcher {
 
         return result;
     }
+
+    private static Map<String, List<LabeledEntity>> collect(SelectCursor selectCursor) {
+        Map<String, List<LabeledEntity>> result = new LinkedHashMap<>();
+        try (SelectCursor cursor = selectCursor) {
+            cursor.forEachRemaining(row -> row.forEach((var, entity) ->
+                    result.computeIfAbsent(var, (v) -> new ArrayList<>()).add(entity)));
+        }
+        return result;
+    }
 }
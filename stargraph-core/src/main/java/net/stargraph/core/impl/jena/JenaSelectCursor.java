@@ -0,0 +1,151 @@
+package net.stargraph.core.impl.jena;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.ModelUtils;
+import net.stargraph.core.Namespace;
+import net.stargraph.core.graph.SelectCursor;
+import net.stargraph.core.search.EntitySearcher;
+import net.stargraph.model.LabeledEntity;
+import net.stargraph.model.ValueEntity;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.impl.LiteralLabel;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.Binding;
+
+import java.util.*;
+
+/**
+ * Reads the Jena bindings lazily. Rows are hydrated in batches so each batch costs a single entity search.
+ */
+final class JenaSelectCursor implements SelectCursor {
+    private Iterator<Binding> results;
+    private Runnable closer;
+    private Namespace ns;
+    private EntitySearcher entitySearcher;
+    private String dbId;
+    private int batchSize;
+    private Deque<Map<String, LabeledEntity>> buffer;
+    private boolean closed;
+
+    JenaSelectCursor(QueryExecution qexec, String dbId, Namespace ns, EntitySearcher entitySearcher, int batchSize) {
+        this(asIterator(qexec.execSelect()), qexec::close, dbId, ns, entitySearcher, batchSize);
+    }
+
+    JenaSelectCursor(Iterator<Binding> results, Runnable closer,
+                     String dbId, Namespace ns, EntitySearcher entitySearcher, int batchSize) {
+        this.results = Objects.requireNonNull(results);
+        this.closer = Objects.requireNonNull(closer);
+        this.dbId = Objects.requireNonNull(dbId);
+        this.ns = Objects.requireNonNull(ns);
+        this.entitySearcher = Objects.requireNonNull(entitySearcher);
+        this.batchSize = batchSize;
+        this.buffer = new ArrayDeque<>(batchSize);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffer.isEmpty() && !closed) {
+            fill();
+        }
+        return !buffer.isEmpty();
+    }
+
+    @Override
+    public Map<String, LabeledEntity> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return buffer.poll();
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            closer.run();
+        }
+    }
+
+    private void fill() {
+        List<Binding> bindings = new ArrayList<>(batchSize);
+        Set<String> entityIds = new LinkedHashSet<>();
+        while (bindings.size() < batchSize && results.hasNext()) {
+            Binding jBinding = results.next();
+            bindings.add(jBinding);
+            Iterator<Var> vars = jBinding.vars();
+            while (vars.hasNext()) {
+                Node node = jBinding.get(vars.next());
+                if (!node.isLiteral() && ns.isFromMainNS(node.getURI())) {
+                    entityIds.add(node.getURI());
+                }
+            }
+        }
+
+        if (bindings.isEmpty()) {
+            close();
+            return;
+        }
+
+        Map<String, LabeledEntity> entities = entityIds.isEmpty() ?
+                Collections.emptyMap() : entitySearcher.getEntitiesById(dbId, entityIds);
+
+        for (Binding jBinding : bindings) {
+            Map<String, LabeledEntity> row = new LinkedHashMap<>();
+            Iterator<Var> vars = jBinding.vars();
+            while (vars.hasNext()) {
+                Var jVar = vars.next();
+                Node node = jBinding.get(jVar);
+
+                if (!node.isLiteral()) {
+                    String id = node.getURI();
+                    row.put(jVar.getVarName(), ns.isFromMainNS(id) ? entities.get(id) : ModelUtils.createInstance(id));
+                } else {
+                    LiteralLabel lit = node.getLiteral();
+                    row.put(jVar.getVarName(), new ValueEntity(lit.getLexicalForm(), lit.getDatatype().getURI(), lit.language()));
+                }
+            }
+            buffer.add(row);
+        }
+    }
+
+    private static Iterator<Binding> asIterator(ResultSet resultSet) {
+        return new Iterator<Binding>() {
+            @Override
+            public boolean hasNext() {
+                return resultSet.hasNext();
+            }
+
+            @Override
+            public Binding next() {
+                return resultSet.nextBinding();
+            }
+        };
+    }
+}
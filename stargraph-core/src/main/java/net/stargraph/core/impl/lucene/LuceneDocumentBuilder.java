@@ -0,0 +1,157 @@
+package net.stargraph.core.impl.lucene;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.stargraph.model.*;
+import net.stargraph.model.wordnet.WNTuple;
+import org.apache.lucene.document.*;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maps the built-in models to Lucene documents. All but the entities store their JSON source
+ * to be deserialized back by the searcher.
+ * <p>
+ * Not thread-safe: the returned document and its single-valued fields are reused by the next call,
+ * which is fine as long as it is handed to the IndexWriter before that. Keep one per thread.
+ */
+final class LuceneDocumentBuilder {
+    private final ObjectMapper mapper;
+    private final Document doc = new Document();
+    private final Map<String, Field> fields = new HashMap<>();
+
+    LuceneDocumentBuilder(ObjectMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    Document build(Serializable data) throws IOException {
+        doc.clear();
+
+        if (data instanceof InstanceEntity) {
+            InstanceEntity entity = (InstanceEntity) data;
+            doc.add(stringField("id", entity.getId(), Field.Store.YES));
+            doc.add(textField("value", entity.getValue(), Field.Store.YES));
+            // Read back by the scroller without touching the stored fields.
+            doc.add(docValuesField("id", entity.getId()));
+            doc.add(docValuesField("value", entity.getValue()));
+            addTexts("otherValues", entity.getOtherValues());
+            return doc;
+        }
+
+        if (data instanceof Fact) {
+            Fact fact = (Fact) data;
+            addContext("s", fact.getSubject());
+            addEntity("p.", fact.getPredicate().getId(), fact.getPredicate().getValue());
+            addEntity("o.", fact.getObject().getId(), fact.getObject().getValue());
+        } else if (data instanceof PropertyEntity) {
+            PropertyEntity property = (PropertyEntity) data;
+            addEntity("", property.getId(), property.getValue());
+            addWords("hypernyms", property.getHypernyms());
+            addWords("hyponyms", property.getHyponyms());
+            addWords("synonyms", property.getSynonyms());
+        } else if (data instanceof net.stargraph.model.Document) {
+            net.stargraph.model.Document document = (net.stargraph.model.Document) data;
+            doc.add(stringField("id", document.getId(), Field.Store.NO));
+            doc.add(textField("title", document.getTitle(), Field.Store.NO));
+            if (document.getSummary() != null) {
+                doc.add(textField("summary", document.getSummary(), Field.Store.NO));
+            }
+            doc.add(textField("text", document.getText(), Field.Store.NO));
+            for (Passage passage : document.getPassages()) {
+                if (passage.getText() != null) {
+                    doc.add(new TextField("passages.text", passage.getText(), Field.Store.NO));
+                }
+                if (passage.getEntities() != null) {
+                    passage.getEntities().forEach(e -> doc.add(new StringField("passages.entities.id", e.getId(), Field.Store.NO)));
+                }
+            }
+        } else {
+            throw new UnsupportedOperationException("Can't index: " + data.getClass());
+        }
+
+        Field source = fields.computeIfAbsent("source:" + LuceneUtils.SOURCE_FIELD,
+                k -> new StoredField(LuceneUtils.SOURCE_FIELD, new byte[0]));
+        source.setBytesValue(mapper.writeValueAsBytes(data));
+        doc.add(source);
+        return doc;
+    }
+
+    private void addContext(String prefix, ContextId context) {
+        if (context instanceof LabeledEntity) {
+            LabeledEntity entity = (LabeledEntity) context;
+            addEntity(prefix + ".", entity.getId(), entity.getValue());
+            if (context instanceof InstanceEntity) {
+                addTexts(prefix + ".otherValues", ((InstanceEntity) context).getOtherValues());
+            }
+        } else if (context instanceof ContextEntity) {
+            doc.add(stringField(prefix + ".id", ((ContextEntity) context).getId(), Field.Store.NO));
+        }
+    }
+
+    private void addEntity(String path, String id, String value) {
+        doc.add(stringField(path + "id", id, Field.Store.NO));
+        doc.add(textField(path + "value", value, Field.Store.NO));
+    }
+
+    private void addWords(String field, Collection<WNTuple> tuples) {
+        if (tuples != null) {
+            tuples.forEach(t -> doc.add(new TextField(field + ".word", t.getWord(), Field.Store.NO)));
+        }
+    }
+
+    private void addTexts(String field, Collection<String> values) {
+        if (values != null) {
+            values.forEach(v -> doc.add(new TextField(field, v, Field.Store.NO)));
+        }
+    }
+
+    private Field stringField(String name, String value, Field.Store store) {
+        Field field = fields.computeIfAbsent("string:" + name + ":" + store, k -> new StringField(name, "", store));
+        field.setStringValue(value);
+        return field;
+    }
+
+    private Field textField(String name, String value, Field.Store store) {
+        Field field = fields.computeIfAbsent("text:" + name + ":" + store, k -> new TextField(name, "", store));
+        field.setStringValue(value);
+        return field;
+    }
+
+    private Field docValuesField(String name, String value) {
+        Field field = fields.computeIfAbsent("dv:" + name, k -> new BinaryDocValuesField(name, new BytesRef()));
+        field.setBytesValue(new BytesRef(value));
+        return field;
+    }
+}
@@ -33,7 +33,6 @@ import net.stargraph.core.index.BaseIndexer;
 import net.stargraph.core.search.BaseSearcher;
 import net.stargraph.core.search.SearchQueryGenerator;
 import net.stargraph.model.KBId;
-import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.MMapDirectory;
 
 import java.io.IOException;
@@ -41,18 +40,19 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public final class LuceneFactory implements IndicesFactory {
-    private Map<KBId, Directory> luceneDirs = new ConcurrentHashMap<>();
+    private Map<KBId, LuceneIndex> luceneIndices = new ConcurrentHashMap<>();
 
     @Override
     public BaseIndexer createIndexer(KBId kbId, Stargraph stargraph) {
-        return new LuceneIndexer(kbId, stargraph, getLuceneDir(stargraph, kbId));
+        return new LuceneIndexer(kbId, stargraph, getLuceneIndex(stargraph, kbId));
     }
 
     @Override
     public BaseSearcher createSearcher(KBId kbId, Stargraph stargraph) {
-        return new LuceneSearcher(kbId, stargraph, getLuceneDir(stargraph, kbId));
+        return new LuceneSearcher(kbId, stargraph, getLuceneIndex(stargraph, kbId));
     }
 
     @Override
@@ -61,13 +61,15 @@ public final class LuceneFactory implements IndicesFactory {
     }
 
 
-    private Directory getLuceneDir(Stargraph stargraph, KBId kbId) {
-        return luceneDirs.computeIfAbsent(kbId,
+    private LuceneIndex getLuceneIndex(Stargraph stargraph, KBId kbId) {
+        return luceneIndices.computeIfAbsent(kbId,
                 (id) -> {
                     try {
                         String rootPath = stargraph.getDataRootDir();
                         Path idxPath = Paths.get(rootPath, id.getId(), id.getModel(), "idx");
-                        return new MMapDirectory(idxPath);
+                        long refreshMillis = stargraph.getMainConfig()
+                                .getDuration("lucene.refresh-interval", TimeUnit.MILLISECONDS);
+                        return new LuceneIndex(id, new MMapDirectory(idxPath), refreshMillis);
                     } catch (IOException e) {
                         throw new StarGraphException(e);
                     }
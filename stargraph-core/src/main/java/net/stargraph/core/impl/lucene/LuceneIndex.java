@@ -0,0 +1,184 @@
+package net.stargraph.core.impl.lucene;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.StarGraphException;
+import net.stargraph.model.KBId;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The single writer of a Lucene directory and the near-real-time searchers opened from it,
+ * shared by the {@link LuceneIndexer} and the {@link LuceneSearcher} of a KB.
+ * Searchers are refreshed in background, thus indexed documents become visible without reopening anything.
+ */
+final class LuceneIndex {
+    private static final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "lucene-refresher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private Marker marker = MarkerFactory.getMarker("lucene");
+
+    private final KBId kbId;
+    private final Directory directory;
+    private final long refreshMillis;
+    private int users;
+    private IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+    private ScheduledFuture<?> refreshTask;
+
+    LuceneIndex(KBId kbId, Directory directory, long refreshMillis) {
+        this.kbId = Objects.requireNonNull(kbId);
+        this.directory = Objects.requireNonNull(directory);
+        this.refreshMillis = refreshMillis;
+    }
+
+    /**
+     * Registers a user, the first one opens the writer and the searchers.
+     */
+    synchronized void open() {
+        if (users++ > 0) {
+            return;
+        }
+
+        try {
+            IndexWriterConfig writerConfig = new IndexWriterConfig(LuceneUtils.getAnalyzer());
+            writerConfig.setCommitOnClose(true);
+            writer = new IndexWriter(directory, writerConfig);
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            users--;
+            throw new StarGraphException("Fail to initialize the directory.", e);
+        }
+
+        if (refreshMillis > 0) {
+            refreshTask = refresher.scheduleWithFixedDelay(this::backgroundRefresh,
+                    refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        }
+        logger.info(marker, "Opened index of {}, refreshing every {}ms", kbId, refreshMillis);
+    }
+
+    /**
+     * Unregisters a user, the last one closes everything.
+     */
+    synchronized void close() {
+        if (users == 0 || --users > 0) {
+            return;
+        }
+
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
+            refreshTask = null;
+        }
+
+        try {
+            searcherManager.close();
+            writer.close();
+        } catch (IOException e) {
+            logger.error(marker, "Fail to close index.", e);
+        } finally {
+            searcherManager = null;
+            writer = null;
+        }
+    }
+
+    IndexWriter getWriter() {
+        IndexWriter w = writer;
+        if (w == null) {
+            throw new IllegalStateException("Index of " + kbId + " is not open.");
+        }
+        return w;
+    }
+
+    /**
+     * Lock-free, must be paired with {@link #release(IndexSearcher)}.
+     */
+    IndexSearcher acquire() {
+        SearcherManager manager = searcherManager;
+        if (manager == null) {
+            throw new IllegalStateException("Index of " + kbId + " is not open.");
+        }
+        try {
+            return manager.acquire();
+        } catch (IOException e) {
+            throw new StarGraphException(e);
+        }
+    }
+
+    void release(IndexSearcher searcher) {
+        SearcherManager manager = searcherManager;
+        if (manager != null && searcher != null) {
+            try {
+                manager.release(searcher);
+            } catch (IOException e) {
+                throw new StarGraphException(e);
+            }
+        }
+    }
+
+    /**
+     * Makes everything indexed so far visible to the next acquired searchers.
+     */
+    void refresh() {
+        SearcherManager manager = searcherManager;
+        if (manager != null) {
+            try {
+                manager.maybeRefreshBlocking();
+            } catch (IOException e) {
+                throw new StarGraphException(e);
+            }
+        }
+    }
+
+    private void backgroundRefresh() {
+        try {
+            SearcherManager manager = searcherManager;
+            if (manager != null) {
+                manager.maybeRefresh();
+            }
+        } catch (Exception e) {
+            logger.error(marker, "Fail to refresh searchers of {}", kbId, e);
+        }
+    }
+}
@@ -26,33 +26,39 @@ package net.stargraph.core.impl.lucene;
  * ==========================License-End===============================
  */
 
+import com.typesafe.config.Config;
 import net.stargraph.StarGraphException;
 import net.stargraph.core.Stargraph;
 import net.stargraph.core.index.BaseIndexer;
-import net.stargraph.model.InstanceEntity;
 import net.stargraph.model.KBId;
-import org.apache.lucene.analysis.standard.StandardAnalyzer;
-import org.apache.lucene.document.Document;
-import org.apache.lucene.document.Field;
-import org.apache.lucene.document.StringField;
-import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.IndexWriter;
-import org.apache.lucene.index.IndexWriterConfig;
-import org.apache.lucene.store.Directory;
+import org.apache.lucene.index.LiveIndexWriterConfig;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.TieredMergePolicy;
 
 import java.io.IOException;
 import java.io.Serializable;
-import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public final class LuceneIndexer extends BaseIndexer {
-    private Directory directory;
+    private static final int BULK_BATCH_SIZE = 1000;
+
+    private LuceneIndex index;
     private IndexWriter writer;
-    private IndexWriterConfig writerConfig;
+    private volatile BulkLoad bulk;
+    private final ThreadLocal<LuceneDocumentBuilder> builders = ThreadLocal.withInitial(() -> new LuceneDocumentBuilder(mapper));
 
-    public LuceneIndexer(KBId kbId, Stargraph stargraph, Directory directory) {
+    LuceneIndexer(KBId kbId, Stargraph stargraph, LuceneIndex index) {
         super(kbId, stargraph);
-        this.directory = Objects.requireNonNull(directory);
+        this.index = Objects.requireNonNull(index);
     }
 
     @Override
@@ -60,12 +66,19 @@ public final class LuceneIndexer extends BaseIndexer {
         if (reset) {
             deleteAll();
         }
+        bulk = new BulkLoad(getBulkConfig());
     }
 
     @Override
     protected void doIndex(Serializable data, KBId kbId) throws InterruptedException {
+        BulkLoad bulkLoad = bulk;
+        if (bulkLoad != null) {
+            bulkLoad.add(data);
+            return;
+        }
+
         try {
-            writer.addDocument(createDocument(data));
+            writer.addDocument(builders.get().build(data));
         } catch (IOException e) {
             throw new StarGraphException(e);
         }
@@ -74,18 +87,39 @@ public final class LuceneIndexer extends BaseIndexer {
     @Override
     protected void doFlush() {
         try {
+            drainBulk();
             writer.flush();
+            index.refresh();
         } catch (IOException e) {
             throw new StarGraphException("Flush error.", e);
         }
     }
 
+    @Override
+    protected void onCheckpoint() {
+        try {
+            drainBulk();
+            writer.commit();
+        } catch (IOException e) {
+            throw new StarGraphException("Commit error.", e);
+        }
+    }
+
     @Override
     protected void afterLoad() throws InterruptedException {
         try {
+            BulkLoad bulkLoad = bulk;
+            if (bulkLoad != null) {
+                try {
+                    bulkLoad.close();
+                } finally {
+                    bulk = null;
+                }
+            }
+
             writer.commit();
-            writer.flush();
-            writer.forceMerge(1, true);
+            forceMerge(getBulkConfig().getString("force-merge"));
+            index.refresh();
         } catch (IOException e) {
            throw new StarGraphException("After loading error.", e);
         }
@@ -94,6 +128,7 @@ public final class LuceneIndexer extends BaseIndexer {
     @Override
     protected void doDeleteAll() {
         try {
+            drainBulk();
             writer.deleteAll();
         } catch (IOException e) {
             throw new StarGraphException("Delete error.", e);
@@ -102,43 +137,154 @@ public final class LuceneIndexer extends BaseIndexer {
 
     @Override
     protected void onStart() {
-        try {
-            writer = new IndexWriter(directory, getWriterConfig());
-        } catch (IOException e) {
-            throw new StarGraphException("Fail to initialize the directory.", e);
-        }
+        index.open();
+        writer = index.getWriter();
     }
 
     @Override
     protected void onStop() {
-        try {
-            writer.close();
-        } catch (IOException e) {
-            logger.error("Fail to close index.", e);
+        BulkLoad bulkLoad = bulk;
+        if (bulkLoad != null) {
+            bulkLoad.executor.shutdownNow();
+            bulk = null;
         }
+        index.close();
+        writer = null;
     }
 
-    private IndexWriterConfig getWriterConfig() {
-        if (writerConfig == null) {
-            writerConfig = new IndexWriterConfig(new StandardAnalyzer());
-            writerConfig.setCommitOnClose(true);
+    private void forceMerge(String mode) throws IOException {
+        switch (mode) {
+            case "blocking":
+                writer.forceMerge(1, true);
+                break;
+            case "background":
+                // Searchers see the merged segment on a later refresh.
+                writer.forceMerge(1, false);
+                break;
+            case "none":
+                break;
+            default:
+                throw new StarGraphException("Unknown force-merge mode: '" + mode + "'");
         }
-        return writerConfig;
     }
 
-    private static Document createDocument(Serializable data) {
-        final Document doc = new Document();
-
-        //TODO support indexing of other types?
-        if (data instanceof InstanceEntity) {
-            InstanceEntity entity = (InstanceEntity)data;
-            doc.add(new StringField("id", entity.getId(), Field.Store.YES));
-            doc.add(new TextField("value", entity.getValue(), Field.Store.YES));
+    private void drainBulk() {
+        BulkLoad bulkLoad = bulk;
+        if (bulkLoad != null) {
+            try {
+                bulkLoad.drain();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StarGraphException("Interrupted while draining the bulk load.", e);
+            }
+        }
+    }
 
-            return doc;
+    private void addDocuments(List<Serializable> batch) {
+        LuceneDocumentBuilder builder = builders.get();
+        for (Serializable data : batch) {
+            try {
+                writer.addDocument(builder.build(data));
+            } catch (Exception e) {
+                logger.error(marker, "Fail to index {}", data, e);
+            }
         }
+    }
 
-        throw new UnsupportedOperationException("Can't index: " + data.getClass());
+    private Config getBulkConfig() {
+        Config mainCfg = stargraph.getMainConfig().getConfig("lucene.bulk");
+        Config modelCfg = stargraph.getModelConfig(kbId);
+        if (modelCfg.hasPath("lucene.bulk")) {
+            return modelCfg.getConfig("lucene.bulk").withFallback(mainCfg);
+        }
+        return mainCfg;
     }
 
+    /**
+     * Feeds the writer from several threads while loading, each one filling its own in-memory segment.
+     * The loader indexing stage only batches the data. The writer settings are restored when closed.
+     */
+    private final class BulkLoad {
+        private final ExecutorService executor;
+        private final int maxPending;
+        private final Queue<Future<?>> pending = new ArrayDeque<>();
+        private final double previousRAMBufferMB;
+        private final MergePolicy previousMergePolicy;
+        private List<Serializable> batch = new ArrayList<>(BULK_BATCH_SIZE);
+
+        BulkLoad(Config cfg) {
+            int threads = cfg.getInt("threads") > 0 ? cfg.getInt("threads") : Runtime.getRuntime().availableProcessors();
+            this.maxPending = threads * 2;
+
+            LiveIndexWriterConfig writerConfig = writer.getConfig();
+            this.previousRAMBufferMB = writerConfig.getRAMBufferSizeMB();
+            this.previousMergePolicy = writerConfig.getMergePolicy();
+
+            TieredMergePolicy mergePolicy = new TieredMergePolicy();
+            mergePolicy.setSegmentsPerTier(cfg.getDouble("merge-policy.segments-per-tier"));
+            mergePolicy.setMaxMergedSegmentMB(toMB(cfg.getBytes("merge-policy.max-merged-segment")));
+            writerConfig.setMergePolicy(mergePolicy);
+            writerConfig.setRAMBufferSizeMB(toMB(cfg.getBytes("ram-buffer")));
+
+            this.executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "lucene-bulk-" + kbId);
+                t.setDaemon(true);
+                return t;
+            });
+            logger.info(marker, "Bulk loading with {} thread(s), {}MB of RAM buffer.", threads, writerConfig.getRAMBufferSizeMB());
+        }
+
+        synchronized void add(Serializable data) throws InterruptedException {
+            batch.add(data);
+            if (batch.size() >= BULK_BATCH_SIZE) {
+                submit();
+            }
+        }
+
+        /**
+         * Waits everything added so far to reach the writer.
+         */
+        synchronized void drain() throws InterruptedException {
+            submit();
+            while (!pending.isEmpty()) {
+                await(pending.poll());
+            }
+        }
+
+        synchronized void close() throws InterruptedException {
+            try {
+                drain();
+            } finally {
+                executor.shutdownNow();
+                writer.getConfig().setRAMBufferSizeMB(previousRAMBufferMB);
+                writer.getConfig().setMergePolicy(previousMergePolicy);
+            }
+        }
+
+        private void submit() throws InterruptedException {
+            if (batch.isEmpty()) {
+                return;
+            }
+            final List<Serializable> toAdd = batch;
+            batch = new ArrayList<>(BULK_BATCH_SIZE);
+            pending.add(executor.submit(() -> addDocuments(toAdd)));
+
+            // Back pressure on the loader.
+            while (pending.size() > maxPending) {
+                await(pending.poll());
+            }
+        }
+
+        private void await(Future<?> task) throws InterruptedException {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                throw new StarGraphException("Bulk indexing error.", e.getCause());
+            }
+        }
+
+        private double toMB(long bytes) {
+            return bytes / 1024d / 1024d;
+        }
+    }
 }
@@ -5,17 +5,24 @@ import net.stargraph.core.search.SearchQueryHolder;
 import net.stargraph.rank.Score;
 import net.stargraph.rank.Scores;
 import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
 import org.apache.lucene.search.*;
+import org.apache.lucene.util.Bits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.Objects;
+import java.util.*;
 
+/**
+ * Pages through the hits with searchAfter, thus memory is bounded by the page size and not by the index size.
+ * Only the requested fields are read, from their DocValues when indexed with them, otherwise from the stored fields.
+ */
 public abstract class LuceneScroller implements Iterable<Score> {
     private Logger logger = LoggerFactory.getLogger(getClass());
     private Marker marker = MarkerFactory.getMarker("lucene");
@@ -23,13 +30,19 @@ public abstract class LuceneScroller implements Iterable<Score> {
     private IndexSearcher indexSearcher;
     private SearchQueryHolder<Query> holder;
     private int maxEntries;
+    private int pageSize;
+    private Set<String> fields;
     private InnerIterator innerIterator;
 
-    public LuceneScroller(IndexSearcher indexSearcher, SearchQueryHolder<Query> holder) {
+    public LuceneScroller(IndexSearcher indexSearcher, SearchQueryHolder<Query> holder, int pageSize, String... fields) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
         this.indexSearcher = Objects.requireNonNull(indexSearcher);
         this.holder = Objects.requireNonNull(holder);
         this.maxEntries = holder.getSearchParams().getLimit();
-
+        this.pageSize = pageSize;
+        this.fields = new LinkedHashSet<>(Arrays.asList(fields));
     }
 
     @Override
@@ -45,48 +58,62 @@ public abstract class LuceneScroller implements Iterable<Score> {
         return scores;
     }
 
+    /**
+     * @param hitDoc Holds only the fields requested to this scroller.
+     */
     protected abstract Score build(Document hitDoc, ScoreDoc hit);
 
     private class InnerIterator implements Iterator<Score> {
-        Iterator<ScoreDoc> innerIt;
+        private final List<LeafReaderContext> leaves = indexSearcher.getIndexReader().leaves();
+        private final Map<Object, Map<String, LeafValues>> docValues = new HashMap<>();
+        private ScoreDoc[] page;
+        private int pos;
+        private long fetched;
+        private boolean exhausted;
 
         @Override
         public boolean hasNext() {
-            boolean hasNext = false;
+            if (page != null && pos < page.length) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
 
             try {
-                if (innerIt == null) {
-                    // TODO instead of setting Integer.MAX_VALUE, use low-level search(Query query, HitCollector results) instead?
-                    TopDocs response = indexSearcher.search(
-                            holder.getQuery(),
-                            (maxEntries < 0) ? Integer.MAX_VALUE : maxEntries,
-                            Sort.RELEVANCE);
-
-                    innerIt = Arrays.asList(response.scoreDocs).iterator();
-                    hasNext = innerIt.hasNext();
-
-                    if (hasNext) {
-                        logger.trace(marker, "Iterating over {}", response.totalHits);
-                    }
+                int size = maxEntries < 0 ? pageSize : (int) Math.min(pageSize, maxEntries - fetched);
+                if (size <= 0) {
+                    exhausted = true;
+                    return false;
+                }
 
-                } else {
-                    hasNext = innerIt.hasNext();
+                ScoreDoc after = page != null ? page[page.length - 1] : null;
+                TopDocs response = after == null ?
+                        indexSearcher.search(holder.getQuery(), size) : indexSearcher.searchAfter(after, holder.getQuery(), size);
+
+                if (page == null) {
+                    logger.trace(marker, "Iterating over {}", response.totalHits);
                 }
 
-                return hasNext;
+                page = response.scoreDocs;
+                pos = 0;
+                fetched += page.length;
+                exhausted = page.length < size;
+                return page.length > 0;
             } catch (IOException e) {
                 throw new StarGraphException(e);
-            } finally {
-
             }
         }
 
         @Override
         public Score next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
             try {
-                ScoreDoc scoreDoc = innerIt.next();
-                Document doc = indexSearcher.doc(scoreDoc.doc);
-                Score score = build(doc, scoreDoc);
+                ScoreDoc scoreDoc = page[pos++];
+                Score score = build(read(scoreDoc.doc), scoreDoc);
                 if (score == null) {
                     throw new IllegalStateException("Can't return a NULL entry");
                 }
@@ -95,5 +122,50 @@ public abstract class LuceneScroller implements Iterable<Score> {
                 throw new RuntimeException(e);
             }
         }
+
+        private Document read(int docId) throws IOException {
+            LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(docId, leaves));
+            int leafDocId = docId - leaf.docBase;
+            Map<String, LeafValues> leafValues = docValues(leaf);
+
+            Document doc = new Document();
+            for (String field : fields) {
+                LeafValues values = leafValues.get(field);
+                if (values == null || !values.docsWithField.get(leafDocId)) {
+                    // Indexed without DocValues, only the needed stored fields are read.
+                    return indexSearcher.doc(docId, fields);
+                }
+                doc.add(new StoredField(field, values.values.get(leafDocId).utf8ToString()));
+            }
+            return doc;
+        }
+
+        private Map<String, LeafValues> docValues(LeafReaderContext leaf) throws IOException {
+            Map<String, LeafValues> leafValues = docValues.get(leaf.reader().getCoreCacheKey());
+            if (leafValues == null) {
+                leafValues = new HashMap<>();
+                for (String field : fields) {
+                    BinaryDocValues values = leaf.reader().getBinaryDocValues(field);
+                    if (values != null) {
+                        leafValues.put(field, new LeafValues(values, leaf.reader().getDocsWithField(field)));
+                    }
+                }
+                docValues.put(leaf.reader().getCoreCacheKey(), leafValues);
+            }
+            return leafValues;
+        }
+    }
+
+    /**
+     * DocValues of a field in a segment, looked up once per segment.
+     */
+    private static final class LeafValues {
+        private final BinaryDocValues values;
+        private final Bits docsWithField;
+
+        LeafValues(BinaryDocValues values, Bits docsWithField) {
+            this.values = values;
+            this.docsWithField = docsWithField;
+        }
     }
 }
@@ -10,7 +10,8 @@ import org.apache.lucene.index.Term;
 import org.apache.lucene.queries.TermsQuery;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.complexPhrase.ComplexPhraseQueryParser;
-import org.apache.lucene.search.Query;
+import org.apache.lucene.search.*;
+import org.apache.lucene.util.QueryBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,8 +20,13 @@ public class LuceneSearchQueryGenerator implements SearchQueryGenerator {
 
     @Override
     public SearchQueryHolder findClassFacts(ModifiableSearchParams searchParams) {
-        //TODO implement
-        throw new UnsupportedOperationException("Not implemented yet");
+        Query query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term("p.id", "is-a")), BooleanClause.Occur.MUST)
+                .add(matchQuery("o.value", searchParams.getSearchTerm()), BooleanClause.Occur.SHOULD)
+                .setMinimumNumberShouldMatch(1)
+                .build();
+
+        return new LuceneQueryHolder(query, searchParams);
     }
 
     @Override
@@ -44,14 +50,33 @@ public class LuceneSearchQueryGenerator implements SearchQueryGenerator {
 
     @Override
     public SearchQueryHolder findPropertyInstances(ModifiableSearchParams searchParams) {
-        //TODO implement
-        throw new UnsupportedOperationException("Not implemented yet");
+        Query query = new BooleanQuery.Builder()
+                .add(matchQuery("hyponyms.word", searchParams.getSearchTerm()), BooleanClause.Occur.SHOULD)
+                .add(matchQuery("hypernyms.word", searchParams.getSearchTerm()), BooleanClause.Occur.SHOULD)
+                .add(matchQuery("synonyms.word", searchParams.getSearchTerm()), BooleanClause.Occur.SHOULD)
+                .setMinimumNumberShouldMatch(1)
+                .build();
+
+        return new LuceneQueryHolder(query, searchParams);
     }
 
     @Override
     public SearchQueryHolder findPivotFacts(InstanceEntity pivot, ModifiableSearchParams searchParams) {
-        //TODO implement
-        throw new UnsupportedOperationException("Not implemented yet");
+        Query query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term("s.id", pivot.getId())), BooleanClause.Occur.SHOULD)
+                .add(new TermQuery(new Term("o.id", pivot.getId())), BooleanClause.Occur.SHOULD)
+                .setMinimumNumberShouldMatch(1)
+                .build();
+
+        return new LuceneQueryHolder(query, searchParams);
+    }
+
+    /**
+     * Same semantic of the ES match query: the analyzed terms are OR'ed.
+     */
+    private static Query matchQuery(String field, String searchTerm) {
+        Query query = new QueryBuilder(LuceneUtils.getAnalyzer()).createBooleanQuery(field, searchTerm);
+        return query != null ? query : new MatchNoDocsQuery();
     }
 
 
@@ -26,106 +26,92 @@ package net.stargraph.core.impl.lucene;
  * ==========================License-End===============================
  */
 
-import net.stargraph.StarGraphException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import net.stargraph.core.Stargraph;
 import net.stargraph.core.search.BaseSearcher;
 import net.stargraph.core.search.SearchQueryHolder;
+import net.stargraph.core.serializer.ObjectSerializer;
+import net.stargraph.model.BuiltInModel;
 import net.stargraph.model.InstanceEntity;
 import net.stargraph.model.KBId;
 import net.stargraph.rank.Score;
 import net.stargraph.rank.Scores;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.ScoreDoc;
-import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
 
-import java.io.IOException;
+import java.io.Serializable;
 import java.util.Objects;
 
 public final class LuceneSearcher extends BaseSearcher {
-    private Directory directory;
-    private IndexReader indexReader;
-    private IndexSearcher indexSearcher;
+    private LuceneIndex index;
+    private int pageSize;
+    private ObjectMapper mapper;
 
-    public LuceneSearcher(KBId kbId, Stargraph core, Directory directory) {
+    LuceneSearcher(KBId kbId, Stargraph core, LuceneIndex index) {
         super(kbId, core);
-        this.directory = Objects.requireNonNull(directory);
+        this.index = Objects.requireNonNull(index);
+        this.pageSize = core.getMainConfig().getInt("lucene.page-size");
+        this.mapper = ObjectSerializer.createMapper(kbId);
     }
 
     @Override
     public Scores search(SearchQueryHolder holder) {
-        IndexSearcher idxSearcher = getLuceneSearcher();
-        if (idxSearcher != null) {
-            LuceneScroller scroller = null;
-            long start = System.nanoTime();
+        IndexSearcher idxSearcher = index.acquire();
+        Scores scores = null;
+        long start = System.nanoTime();
 
-            try {
-                scroller = new LuceneScroller(idxSearcher, holder) {
-                    @Override
-                    protected Score build(Document hitDoc, ScoreDoc hit) {
-                        try {
-                            //TODO support indexing of other types?
-                            String id = hitDoc.get("id");
-                            String value = hitDoc.get("value");
-                            InstanceEntity entity = new InstanceEntity(id, value);
+        try {
+            String modelName = holder.getSearchParams().getKbId().getModel();
+            Class<Serializable> modelClass = BuiltInModel.getModelClass(modelName);
+            boolean entities = InstanceEntity.class.equals(modelClass);
+            String[] fields = entities ? new String[] {"id", "value"} : new String[] {LuceneUtils.SOURCE_FIELD};
 
-                            return new Score(entity, hit.score);
-                        } catch (Exception e) {
-                            logger.error(marker, "Fail to deserialize document {}", hit.doc, e);
+            LuceneScroller scroller = new LuceneScroller(idxSearcher, holder, pageSize, fields) {
+                @Override
+                protected Score build(Document hitDoc, ScoreDoc hit) {
+                    try {
+                        if (entities) {
+                            return new Score(new InstanceEntity(hitDoc.get("id"), hitDoc.get("value")), hit.score);
                         }
-                        return null;
+                        BytesRef source = hitDoc.getBinaryValue(LuceneUtils.SOURCE_FIELD);
+                        Serializable entity = mapper.readValue(source.bytes, source.offset, source.length, modelClass);
+                        return new Score(entity, hit.score);
+                    } catch (Exception e) {
+                        logger.error(marker, "Fail to deserialize document {}", hit.doc, e);
                     }
-                };
+                    return null;
+                }
+            };
 
-                return scroller.getScores();
-            } finally {
-                double elapsedInMillis = (System.nanoTime() - start) / 1000_000;
-                logger.debug(marker, "Took {}ms, {}, fetched {} entries.", elapsedInMillis,
-                        holder.getQuery(), scroller != null ? scroller.getScores().size() : 0);
-            }
+            scores = scroller.getScores();
+            return scores;
+        } finally {
+            index.release(idxSearcher);
+            double elapsedInMillis = (System.nanoTime() - start) / 1000_000;
+            logger.debug(marker, "Took {}ms, {}, fetched {} entries.", elapsedInMillis,
+                    holder.getQuery(), scores != null ? scores.size() : 0);
         }
-        throw new StarGraphException("Index not found for " + kbId);
     }
 
     @Override
     public long countDocuments() {
-        IndexSearcher idxSearcher = getLuceneSearcher();
-        if (idxSearcher != null) {
+        IndexSearcher idxSearcher = index.acquire();
+        try {
             return idxSearcher.getIndexReader().numDocs();
+        } finally {
+            index.release(idxSearcher);
         }
-        throw new StarGraphException("Index not found for " + kbId);
     }
 
-
     @Override
-    protected void onStop() {
-        try {
-            if (indexReader != null) {
-                indexReader.close();
-                indexReader = null;
-            }
-        } catch (IOException e) {
-            throw new StarGraphException(e);
-        }
+    protected void onStart() {
+        index.open();
     }
 
-    private synchronized IndexSearcher getLuceneSearcher() {
-        try {
-            if (indexReader == null) {
-                if (!DirectoryReader.indexExists(directory)) {
-                    return null;
-                }
-                indexReader = DirectoryReader.open(directory);
-                indexSearcher = new IndexSearcher(indexReader);
-            }
-            return indexSearcher;
-        }
-        catch (IOException e) {
-            throw new StarGraphException(e);
-        }
+    @Override
+    protected void onStop() {
+        index.close();
     }
 }
-
-
@@ -0,0 +1,59 @@
+package net.stargraph.core.impl.lucene;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Field naming and analysis shared by the Lucene indexer and query generator.
+ * Nested objects are flattened to the dotted field names of the ES mapping, i.e. 's.id' or 'synonyms.word'.
+ */
+final class LuceneUtils {
+    static final String SOURCE_FIELD = "_source";
+
+    // Text fields analyzed as in the ES mapping. Entities keep the StandardAnalyzer, stemming defeats the fuzzy search.
+    private static final Analyzer analyzer = createAnalyzer("s.value", "s.otherValues", "p.value", "o.value",
+            "hypernyms.word", "hyponyms.word", "synonyms.word", "title", "summary", "text", "passages.text");
+
+    static Analyzer getAnalyzer() {
+        return analyzer;
+    }
+
+    private static Analyzer createAnalyzer(String... englishFields) {
+        Analyzer english = new EnglishAnalyzer();
+        Map<String, Analyzer> perField = new HashMap<>();
+        Arrays.stream(englishFields).forEach(f -> perField.put(f, english));
+        return new PerFieldAnalyzerWrapper(new StandardAnalyzer(), perField);
+    }
+}
@@ -45,16 +45,27 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
 
+/**
+ * Models are thread-safe but the tokenizer and the tagger are not. These are pooled per language so each
+ * thread borrows its own instances, the pool never blocks and keeps at most 'annotator.pool-size' idle ones.
+ */
 public final class OpenNLPAnnotator extends Annotator {
     private ConcurrentHashMap<Language, TokenizerModel> tokenizerModels;
     private ConcurrentHashMap<Language, POSModel> posModels;
+    private ConcurrentHashMap<Language, BlockingQueue<Tools>> pools;
+    private int poolSize;
     private File modelsDir;
 
     public OpenNLPAnnotator(Config config) {
         this.tokenizerModels = new ConcurrentHashMap<>();
         this.posModels = new ConcurrentHashMap<>();
+        this.pools = new ConcurrentHashMap<>();
+        int poolSize = config.hasPath("annotator.pool-size") ? config.getInt("annotator.pool-size") : 0;
+        this.poolSize = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
         this.modelsDir = new File(Objects.requireNonNull(config).getString("annotator.factory.models-dir"));
         if (!modelsDir.canRead()) {
             logger.error(marker, "Can't read models dir: {}", modelsDir);
@@ -66,19 +77,39 @@ public final class OpenNLPAnnotator extends Annotator {
 
     @Override
     public List<Word> doRun(Language language, String sentence) {
-        Tokenizer tokenizer = new TokenizerME(getTokenizerModel(language));
-        POSTaggerME tagger = new POSTaggerME(getPOSModel(language));
-        String[] tokens = tokenizer.tokenize(sentence);
-        String[] tags = tagger.tag(tokens);
-
-        PartOfSpeechSet posSet = PartOfSpeechSet.getPOSSet(language);
+        Tools tools = acquire(language);
+        try {
+            return tools.annotate(sentence);
+        } finally {
+            release(language, tools);
+        }
+    }
 
-        List<Word> words = new ArrayList<>();
-        for (int i = 0; i < tokens.length; i++) {
-            words.add(new Word(posSet.valueOf(tags[i]), tokens[i]));
+    @Override
+    protected List<List<Word>> doRun(Language language, List<String> sentences) {
+        Tools tools = acquire(language);
+        try {
+            List<List<Word>> annotated = new ArrayList<>(sentences.size());
+            for (String sentence : sentences) {
+                annotated.add(tools.annotate(sentence));
+            }
+            return annotated;
+        } finally {
+            release(language, tools);
         }
+    }
+
+    private Tools acquire(Language language) {
+        Tools tools = getPool(language).poll();
+        return tools != null ? tools : new Tools(language);
+    }
+
+    private void release(Language language, Tools tools) {
+        getPool(language).offer(tools);
+    }
 
-        return words;
+    private BlockingQueue<Tools> getPool(Language language) {
+        return pools.computeIfAbsent(language, l -> new LinkedBlockingQueue<>(poolSize));
     }
 
     private TokenizerModel getTokenizerModel(Language language) {
@@ -108,4 +139,28 @@ public final class OpenNLPAnnotator extends Annotator {
             throw new StarGraphException("Can't read '" + modelFile + "'", e);
         }
     }
+
+    private final class Tools {
+        private final Tokenizer tokenizer;
+        private final POSTaggerME tagger;
+        private final PartOfSpeechSet posSet;
+
+        Tools(Language language) {
+            this.tokenizer = new TokenizerME(getTokenizerModel(language));
+            this.tagger = new POSTaggerME(getPOSModel(language));
+            this.posSet = PartOfSpeechSet.getPOSSet(language);
+        }
+
+        List<Word> annotate(String sentence) {
+            String[] tokens = tokenizer.tokenize(sentence);
+            String[] tags = tagger.tag(tokens);
+
+            List<Word> words = new ArrayList<>();
+            for (int i = 0; i < tokens.length; i++) {
+                words.add(new Word(posSet.valueOf(tags[i]), tokens[i]));
+            }
+
+            return words;
+        }
+    }
 }
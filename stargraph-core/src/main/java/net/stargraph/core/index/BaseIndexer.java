@@ -27,6 +27,7 @@ package net.stargraph.core.index;
  */
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typesafe.config.Config;
 import net.stargraph.StarGraphException;
 import net.stargraph.core.Stargraph;
 import net.stargraph.core.serializer.ObjectSerializer;
@@ -42,6 +43,7 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.Objects;
@@ -59,7 +61,8 @@ public abstract class BaseIndexer implements Indexer {
 
     private ExecutorService loaderExecutor;
     private Future<?> loaderFutureTask;
-    private ProgressWatcher loaderProgress;
+    private volatile ProgressWatcher loaderProgress;
+    private CheckpointStore checkpointStore;
     private DataProvider<?> dataProvider;
     private ProcessorChain processorChain;
     private boolean loading;
@@ -89,6 +92,9 @@ public abstract class BaseIndexer implements Indexer {
         } else {
             try {
                 onStop();
+                if (processorChain != null) {
+                    processorChain.close();
+                }
                 running = false;
             }
             catch (Exception e) {
@@ -114,13 +120,19 @@ public abstract class BaseIndexer implements Indexer {
 
     @Override
     public final void load(boolean reset, int limit) {
-        doLoad(reset, limit);
+        doLoad(reset, limit, false);
+    }
+
+    @Override
+    public final void load(boolean reset, int limit, boolean resume) {
+        doLoad(reset, limit, resume);
     }
 
     @Override
     public final void flush() {
         logger.info(marker, "Flushing..");
         doFlush();
+        stargraph.getEntitySearcher().invalidate(kbId);
     }
 
     @Override
@@ -128,6 +140,7 @@ public abstract class BaseIndexer implements Indexer {
         logger.info(marker, "Deleting ALL data..");
         doDeleteAll();
         doFlush();
+        stargraph.getEntitySearcher().invalidate(kbId);
     }
 
     @Override
@@ -154,6 +167,11 @@ public abstract class BaseIndexer implements Indexer {
 
     }
 
+    @Override
+    public final ProgressWatcher getProgressWatcher() {
+        return loaderProgress;
+    }
+
     protected abstract void beforeLoad(boolean reset);
 
     protected abstract void doIndex(Serializable data, KBId kbId) throws InterruptedException;
@@ -166,6 +184,13 @@ public abstract class BaseIndexer implements Indexer {
         // Specific implementation detail
     }
 
+    /**
+     * Makes everything indexed so far durable. Called before the loader checkpoint is committed.
+     */
+    protected void onCheckpoint() {
+        doFlush();
+    }
+
     protected void doDeleteAll() {
         // Specific implementation detail
     }
@@ -197,30 +222,50 @@ public abstract class BaseIndexer implements Indexer {
 
 
     private void work(Holder holder) throws ProcessorException {
+        if (process(holder)) {
+            store(holder);
+        }
+    }
+
+    /**
+     * Runs the processor chain on the holder.
+     *
+     * @return true if the holder is meant to be indexed.
+     */
+    private boolean process(Holder holder) throws ProcessorException {
         try {
             if (processorChain != null) {
                 processorChain.run(Objects.requireNonNull(holder));
             }
 
             if (!holder.isSinkable()) {
-                final Serializable data = holder.get();
+                return true;
+            }
 
-                if (this.loading) {
-                    if (loaderProgress.incIndexed() % 500000 == 0) {
-                        logger.info(marker, "{}: {}", loaderProgress.getTotalIndexed(), data);
-                    }
-                } else {
-                    // During incremental mode we log every attempt to index.
-                    logger.info(marker, "Indexing {}", data);
-                }
+            sink(holder);
+        } catch (FatalProcessorException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error(marker, "Fail to process {}", holder, e);
+        }
+        return false;
+    }
 
-                doIndex(data, kbId);
+    private void store(Holder holder) {
+        try {
+            final Serializable data = holder.get();
 
+            if (this.loading) {
+                if (loaderProgress.incIndexed() % 500000 == 0) {
+                    logger.info(marker, "{}: {}", loaderProgress.getTotalIndexed(), data);
+                }
             } else {
-                sink(holder);
+                // During incremental mode we log every attempt to index.
+                logger.info(marker, "Indexing {}", data);
             }
-        } catch (FatalProcessorException e) {
-            throw e;
+
+            doIndex(data, kbId);
+
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         } catch (Exception e) {
@@ -228,64 +273,79 @@ public abstract class BaseIndexer implements Indexer {
         }
     }
 
-    private synchronized void doLoad(boolean reset, long limit) {
+    private synchronized void doLoad(boolean reset, long limit, boolean resume) {
         if (loading) {
             throw new IllegalStateException("Loader is already in progress. ");
         }
 
-        logger.info(marker, "Loading {}, [reset={}, limit={}]", kbId, reset, limit);
+        logger.info(marker, "Loading {}, [reset={}, limit={}, resume={}]", kbId, reset, limit, resume);
         loading = true;
 
-        if (reset) {
-            logger.warn(marker, "Old data will be DELETED!");
-        }
-
         if (loaderExecutor == null || loaderExecutor.isTerminated()) {
             this.loaderExecutor = Executors.newSingleThreadExecutor();
         }
 
         loaderFutureTask = loaderExecutor.submit(() -> {
+            ExecutorService stagesExecutor = null;
+            boolean completed = false;
             try {
-                doBeforeLoad(reset);
-                loaderProgress.start(true); // now this is always true until we add a resume feature.
-                logger.info(marker, "Loader is running..");
-                Iterator<? extends Holder> iterator = dataProvider.iterator();
-                while (iterator.hasNext()) {
-
-                    if (limit > 0 && loaderProgress.getTotalRead() >= limit) {
-                        logger.info(marker, "Limit set to {} reached.", limit);
-                        break;
+                checkpointStore = new CheckpointStore(kbId, stargraph.getDataRootDir());
+                LoaderCheckpoint checkpoint = resume ? checkpointStore.read() : null;
+
+                if (checkpoint != null) {
+                    logger.info(marker, "Resuming from {}", checkpoint);
+                    doBeforeLoad(false);
+                    checkpointStore.readStates(checkpoint, processorChain);
+                    loaderProgress.resume(checkpoint.getRead(), checkpoint.getIndexed());
+                } else {
+                    if (resume) {
+                        logger.warn(marker, "No checkpoint found, nothing to resume.");
                     }
-
-                    try {
-                        Holder data = iterator.next();
-                        if (Thread.currentThread().isInterrupted()) {
-                            break;
-                        }
-
-                        if (!data.getKBId().equals(kbId)) {
-                            throw new StarGraphException("Can't consume data from '{}" + data.getKBId() + "'");
-                        }
-
-                        work(data); // delegates heavy work
-
-                    } catch (FatalProcessorException e) {
-                        logger.error(marker, "Aborting.", e);
-                        break;
-                    } catch (Exception e) {
-                        logger.error(marker, "Error reading from provider.", e);
-                    } finally {
-                        loaderProgress.incRead();
+                    if (reset) {
+                        logger.warn(marker, "Old data will be DELETED!");
                     }
+                    doBeforeLoad(reset);
+                    checkpointStore.clear();
+                    loaderProgress.start(true);
+                }
+
+                final int workers = getLoaderWorkers();
+                final int queueSize = getLoaderQueueSize();
+                final LoaderPipeline pipeline = new LoaderPipeline(queueSize, workers, getCheckpointInterval(), checkpoint);
+                pipeline.barrier = new CyclicBarrier(workers, () -> checkpointBarrier(pipeline));
+                loaderProgress.watchQueue("read", pipeline.readQueue);
+                loaderProgress.watchQueue("index", pipeline.indexQueue);
+
+                logger.info(marker, "Loader is running with {} processor worker(s), queue size {}..", workers, queueSize);
+
+                // Reader -> N processor workers -> indexing stage (this thread). Bounded queues gives backpressure.
+                stagesExecutor = Executors.newFixedThreadPool(workers + 1);
+                Future<?> readerTask = stagesExecutor.submit(() -> {
+                    read(pipeline, limit, workers);
+                    return null;
+                });
+                for (int i = 0; i < workers; i++) {
+                    stagesExecutor.submit(() -> processStage(pipeline));
                 }
+
+                indexStage(pipeline, workers);
+                readerTask.get();
+                completed = pipeline.exhausted;
             } catch (Exception e) {
                 logger.error(marker, "Loader failure.", e);
                 throw e;
             } finally {
                 logger.info(marker, "Loader is finishing..");
+                if (stagesExecutor != null) {
+                    stagesExecutor.shutdownNow();
+                }
                 try {
                     doAfterLoad();
+                    stargraph.getEntitySearcher().invalidate(kbId);
                     loaderProgress.stop();
+                    if (completed) {
+                        checkpointStore.clear();
+                    }
                     if (loaderProgress.getTotalIndexed() == 0) {
                         logger.warn(marker, "Nothing was loaded!");
                     }
@@ -298,7 +358,217 @@ public abstract class BaseIndexer implements Indexer {
                     logger.info(marker, "Loader is done.");
                 }
             }
+            return null;
         });
     }
 
+    /**
+     * Reader stage. Pulls from the data provider and always signals the end of stream to every worker.
+     */
+    private void read(LoaderPipeline pipeline, long limit, int workers) throws InterruptedException {
+        try {
+            Iterator<? extends Holder> iterator = dataProvider.iterator();
+
+            if (pipeline.resumeOffset > 0) {
+                // No way to seek on a provider, skipped entries are already accounted as read.
+                logger.info(marker, "Skipping {} entries already loaded..", pipeline.resumeOffset);
+                for (long skipped = 0; skipped < pipeline.resumeOffset && iterator.hasNext(); skipped++) {
+                    try {
+                        iterator.next();
+                    } catch (Exception e) {
+                        logger.trace(marker, "Error skipping entry.", e);
+                    }
+                }
+            }
+
+            while (!pipeline.aborted && iterator.hasNext()) {
+
+                if (limit > 0 && loaderProgress.getTotalRead() >= limit) {
+                    logger.info(marker, "Limit set to {} reached.", limit);
+                    // Exact point to carry on from in a later resume.
+                    emitCheckpoint(pipeline, workers);
+                    return;
+                }
+
+                if (loaderProgress.getTotalIndexed() >= pipeline.nextCheckpoint) {
+                    emitCheckpoint(pipeline, workers);
+                }
+
+                try {
+                    Holder data = iterator.next();
+                    if (Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+
+                    if (!data.getKBId().equals(kbId)) {
+                        throw new StarGraphException("Can't consume data from '{}" + data.getKBId() + "'");
+                    }
+
+                    pipeline.readQueue.put(data);
+
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    logger.error(marker, "Error reading from provider.", e);
+                } finally {
+                    loaderProgress.incRead();
+                }
+            }
+
+            pipeline.exhausted = !pipeline.aborted && !Thread.currentThread().isInterrupted();
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                pipeline.readQueue.put(LoaderPipeline.END);
+            }
+        }
+    }
+
+    private void emitCheckpoint(LoaderPipeline pipeline, int workers) throws InterruptedException {
+        if (pipeline.checkpointInterval > 0) {
+            pipeline.nextCheckpoint = loaderProgress.getTotalIndexed() + pipeline.checkpointInterval;
+            Holder checkpoint = new Indexable(new LoaderCheckpoint(pipeline.generation++, loaderProgress.getTotalRead()), kbId);
+            for (int i = 0; i < workers; i++) {
+                pipeline.readQueue.put(checkpoint);
+            }
+        }
+    }
+
+    /**
+     * Processor stage. Runs the chain and hands over what should be indexed.
+     * Once aborted, keeps draining the read queue so the reader is never blocked forever.
+     */
+    private void processStage(LoaderPipeline pipeline) {
+        try {
+            try {
+                Holder data;
+                while ((data = pipeline.readQueue.take()) != LoaderPipeline.END) {
+                    if (data.get() instanceof LoaderCheckpoint) {
+                        // Every worker gets one copy. Waits the others so nothing is in flight.
+                        pipeline.pendingCheckpoint = (LoaderCheckpoint) data.get();
+                        pipeline.barrier.await();
+                        continue;
+                    }
+
+                    if (pipeline.aborted) {
+                        continue;
+                    }
+
+                    try {
+                        if (process(data)) {
+                            pipeline.indexQueue.put(data);
+                        }
+                        loaderProgress.incProcessed();
+                    } catch (FatalProcessorException e) {
+                        logger.error(marker, "Aborting.", e);
+                        pipeline.aborted = true;
+                    }
+                }
+            } finally {
+                pipeline.indexQueue.put(LoaderPipeline.END);
+            }
+        } catch (InterruptedException | BrokenBarrierException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs when all processor workers reached the checkpoint barrier.
+     * Nothing read after the checkpoint was processed yet, hence the processors state matches the cursor.
+     */
+    private void checkpointBarrier(LoaderPipeline pipeline) {
+        LoaderCheckpoint checkpoint = pipeline.pendingCheckpoint;
+        if (pipeline.aborted) {
+            return;
+        }
+
+        try {
+            checkpointStore.writeStates(checkpoint, processorChain);
+            pipeline.indexQueue.put(new Indexable(checkpoint, kbId));
+        } catch (IOException e) {
+            logger.error(marker, "Fail to write processors state of {}", checkpoint, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Indexing stage. Single consumer, finishes after all workers have signaled the end of stream.
+     */
+    private void indexStage(LoaderPipeline pipeline, int workers) throws InterruptedException {
+        int finished = 0;
+        while (finished < workers) {
+            Holder data = pipeline.indexQueue.take();
+            if (data == LoaderPipeline.END) {
+                finished++;
+            } else if (pipeline.aborted) {
+                logger.trace(marker, "Discarding {}", data);
+            } else if (data.get() instanceof LoaderCheckpoint) {
+                commitCheckpoint((LoaderCheckpoint) data.get());
+            } else {
+                store(data);
+            }
+        }
+    }
+
+    private void commitCheckpoint(LoaderCheckpoint checkpoint) {
+        try {
+            onCheckpoint();
+            checkpoint.commit(loaderProgress.getTotalIndexed());
+            checkpointStore.commit(checkpoint);
+            logger.info(marker, "Checkpoint {}", checkpoint);
+        } catch (Exception e) {
+            logger.error(marker, "Fail to commit {}", checkpoint, e);
+        }
+    }
+
+    private long getCheckpointInterval() {
+        return getLoaderConfig().getLong("checkpoint-interval");
+    }
+
+    private int getLoaderWorkers() {
+        int workers = getLoaderConfig().getInt("workers");
+        return workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+
+    private int getLoaderQueueSize() {
+        return getLoaderConfig().getInt("queue-size");
+    }
+
+    private Config getLoaderConfig() {
+        Config modelCfg = stargraph.getModelConfig(kbId);
+        if (modelCfg.hasPath("loader")) {
+            return modelCfg.getConfig("loader").withFallback(stargraph.getMainConfig().getConfig("loader"));
+        }
+        return stargraph.getMainConfig().getConfig("loader");
+    }
+
+    /**
+     * Queues connecting the loader stages.
+     */
+    private static final class LoaderPipeline {
+        static final Holder END = new Indexable("end-of-stream", KBId.of("none", "none"));
+
+        final BlockingQueue<Holder> readQueue;
+        final BlockingQueue<Holder> indexQueue;
+        final long checkpointInterval;
+        final long resumeOffset;
+        CyclicBarrier barrier;
+        volatile LoaderCheckpoint pendingCheckpoint;
+        volatile boolean aborted;
+        volatile boolean exhausted;
+        long generation;
+        long nextCheckpoint;
+
+        LoaderPipeline(int queueSize, int workers, long checkpointInterval, LoaderCheckpoint resumeFrom) {
+            this.readQueue = new ArrayBlockingQueue<>(queueSize);
+            // Room for the checkpoint markers.
+            this.indexQueue = new ArrayBlockingQueue<>(queueSize + workers);
+            this.checkpointInterval = checkpointInterval;
+            this.resumeOffset = resumeFrom != null ? resumeFrom.getRead() : 0;
+            this.generation = resumeFrom != null ? resumeFrom.getGeneration() + 1 : 0;
+            this.nextCheckpoint = checkpointInterval > 0 ?
+                    (resumeFrom != null ? resumeFrom.getIndexed() : 0) + checkpointInterval : Long.MAX_VALUE;
+        }
+    }
+
 }
@@ -0,0 +1,158 @@
+package net.stargraph.core.index;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.stargraph.StarGraphException;
+import net.stargraph.data.processor.Checkpointable;
+import net.stargraph.data.processor.Processor;
+import net.stargraph.data.processor.ProcessorChain;
+import net.stargraph.model.KBId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+/**
+ * Persists the {@link LoaderCheckpoint} and the state of the {@link Checkpointable} processors
+ * under dataRootDir/kb/model.
+ * <p>
+ * Processor states are written per generation. Only after all of them are in place the cursor,
+ * pointing to that generation, is atomically replaced. Thus a crash never leaves a cursor that
+ * doesn't match the processors state.
+ */
+final class CheckpointStore {
+    private static final String CURSOR_FILE = "loader-checkpoint.json";
+    private static final String STATE_PREFIX = "loader-checkpoint-";
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private Marker marker = MarkerFactory.getMarker("index");
+    private ObjectMapper mapper = new ObjectMapper();
+    private Path dir;
+
+    CheckpointStore(KBId kbId, String dataRootDir) {
+        Objects.requireNonNull(kbId);
+        this.dir = Paths.get(Objects.requireNonNull(dataRootDir), kbId.getId(), kbId.getModel());
+    }
+
+    /**
+     * @return the last committed checkpoint or null if there is none.
+     */
+    LoaderCheckpoint read() {
+        Path cursor = dir.resolve(CURSOR_FILE);
+        if (!Files.exists(cursor)) {
+            return null;
+        }
+        try {
+            return mapper.readValue(cursor.toFile(), LoaderCheckpoint.class);
+        } catch (IOException e) {
+            throw new StarGraphException("Fail to read checkpoint " + cursor, e);
+        }
+    }
+
+    void writeStates(LoaderCheckpoint checkpoint, ProcessorChain chain) throws IOException {
+        if (chain == null) {
+            return;
+        }
+
+        Files.createDirectories(dir);
+        for (Processor p : chain.getProcessors()) {
+            if (p instanceof Checkpointable) {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(statePath(checkpoint, p)))) {
+                    ((Checkpointable) p).writeState(out);
+                }
+            }
+        }
+    }
+
+    void readStates(LoaderCheckpoint checkpoint, ProcessorChain chain) throws IOException {
+        if (chain == null) {
+            return;
+        }
+
+        for (Processor p : chain.getProcessors()) {
+            if (p instanceof Checkpointable) {
+                Path statePath = statePath(checkpoint, p);
+                if (!Files.exists(statePath)) {
+                    throw new StarGraphException("Missing state of '" + p + "' at " + statePath);
+                }
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(statePath))) {
+                    ((Checkpointable) p).readState(in);
+                }
+                logger.info(marker, "State of '{}' restored from {}", p, statePath);
+            }
+        }
+    }
+
+    void commit(LoaderCheckpoint checkpoint) throws IOException {
+        Files.createDirectories(dir);
+        Path tmp = dir.resolve(CURSOR_FILE + ".tmp");
+        mapper.writeValue(tmp.toFile(), checkpoint);
+        Files.move(tmp, dir.resolve(CURSOR_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        deleteStates(checkpoint.getGeneration());
+    }
+
+    void clear() {
+        try {
+            Files.deleteIfExists(dir.resolve(CURSOR_FILE));
+            deleteStates(-1);
+        } catch (IOException e) {
+            logger.error(marker, "Fail to clear checkpoint at {}", dir, e);
+        }
+    }
+
+    private void deleteStates(long keepGeneration) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+
+        String keepSuffix = String.format("-%d.state", keepGeneration);
+        try (DirectoryStream<Path> states = Files.newDirectoryStream(dir, STATE_PREFIX + "*.state")) {
+            for (Path state : states) {
+                if (!state.getFileName().toString().endsWith(keepSuffix)) {
+                    Files.deleteIfExists(state);
+                }
+            }
+        }
+    }
+
+    private Path statePath(LoaderCheckpoint checkpoint, Processor processor) {
+        return dir.resolve(String.format("%s%s-%d.state", STATE_PREFIX, processor, checkpoint.getGeneration()));
+    }
+}
@@ -45,6 +45,11 @@ public interface Indexer {
 
     void load(boolean reset, int limit);
 
+    /**
+     * @param resume Continues from the last checkpoint, if any. Old data is kept regardless of reset.
+     */
+    void load(boolean reset, int limit, boolean resume);
+
     void awaitLoader() throws InterruptedException, TimeoutException, ExecutionException;
 
     void awaitLoader(long time, TimeUnit unit) throws InterruptedException, TimeoutException, ExecutionException;
@@ -54,4 +59,9 @@ public interface Indexer {
     void flush();
 
     void deleteAll();
+
+    /**
+     * @return Progress of the running or the last load, null if never loaded.
+     */
+    ProgressWatcher getProgressWatcher();
 }
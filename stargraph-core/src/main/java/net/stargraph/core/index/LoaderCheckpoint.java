@@ -0,0 +1,80 @@
+package net.stargraph.core.index;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import java.io.Serializable;
+
+/**
+ * Cursor of a load in progress. Persisted periodically so that an interrupted load can be resumed.
+ * Everything read before {@link #getRead()} was already processed and indexed.
+ */
+public final class LoaderCheckpoint implements Serializable {
+    private long generation;
+    private long read;
+    private long indexed;
+    private long timestamp;
+
+    private LoaderCheckpoint() {
+        // Jackson
+    }
+
+    LoaderCheckpoint(long generation, long read) {
+        this.generation = generation;
+        this.read = read;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public long getRead() {
+        return read;
+    }
+
+    public long getIndexed() {
+        return indexed;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    void commit(long indexed) {
+        this.indexed = indexed;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "LoaderCheckpoint{" +
+                "generation=" + generation +
+                ", read=" + read +
+                ", indexed=" + indexed +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
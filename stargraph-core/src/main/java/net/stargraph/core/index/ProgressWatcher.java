@@ -37,7 +37,11 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -48,7 +52,14 @@ public final class ProgressWatcher {
     private Logger logger = LoggerFactory.getLogger(getClass());
     private Marker marker = MarkerFactory.getMarker("watcher");
     private AtomicLong read = new AtomicLong(0);
+    private AtomicLong processed = new AtomicLong(0);
     private AtomicLong indexed = new AtomicLong(0);
+    private Map<String, BlockingQueue<?>> queues = new LinkedHashMap<>();
+    private Map<String, Timing> timings = new ConcurrentSkipListMap<>();
+    private long lastRead;
+    private long lastProcessed;
+    private long lastIndexed;
+    private long lastTickTime;
     private long startTime;
     private long stopTime;
     private long elapsedTime;
@@ -68,6 +79,10 @@ public final class ProgressWatcher {
         return read.incrementAndGet();
     }
 
+    public long incProcessed() {
+        return processed.incrementAndGet();
+    }
+
     public long incIndexed() {
         return indexed.incrementAndGet();
     }
@@ -80,6 +95,34 @@ public final class ProgressWatcher {
         return read.get();
     }
 
+    public long getTotalProcessed() {
+        return processed.get();
+    }
+
+    /**
+     * Registers a stage queue whose depth will be reported along with the periodic progress.
+     */
+    public synchronized void watchQueue(String name, BlockingQueue<?> queue) {
+        queues.put(Objects.requireNonNull(name), Objects.requireNonNull(queue));
+    }
+
+    /**
+     * Accounts the time spent by a step on a single entry, i.e. a processor. The average is reported with the progress.
+     */
+    public void recordTime(String name, long elapsedNanos) {
+        Timing timing = timings.computeIfAbsent(Objects.requireNonNull(name), k -> new Timing());
+        timing.count.incrementAndGet();
+        timing.nanos.addAndGet(elapsedNanos);
+    }
+
+    /**
+     * @return Average time in milliseconds recorded under the given name, zero if none.
+     */
+    public double getAverageTime(String name) {
+        Timing timing = timings.get(name);
+        return timing != null ? timing.getAverageMillis() : 0;
+    }
+
     public long getElapsedTime() {
         return elapsedTime;
     }
@@ -91,9 +134,21 @@ public final class ProgressWatcher {
             executor.shutdownNow();
             logStats();
             logger.info(marker, "{}", getReportMsg());
+            if (!timings.isEmpty()) {
+                logger.info(marker, "Timings (ms/entry): {}", getTimingsMsg());
+            }
         }
     }
 
+    /**
+     * Starts from the counters of a previous load.
+     */
+    public synchronized void resume(long read, long indexed) {
+        this.read.set(read);
+        this.indexed.set(indexed);
+        start(false);
+    }
+
     public synchronized void start(boolean reset) {
         if (executor == null || executor.isTerminated()) {
             executor = Executors.newSingleThreadScheduledExecutor();
@@ -103,17 +158,28 @@ public final class ProgressWatcher {
 
         if (reset) {
             read.set(0);
+            processed.set(0);
             indexed.set(0);
+            timings.clear();
             startTime = System.nanoTime() / 1000_000;
             stopTime = 0;
             elapsedTime = 0;
+        } else if (startTime == 0) {
+            startTime = System.nanoTime() / 1000_000;
         }
 
+        lastRead = getTotalRead();
+        lastProcessed = getTotalProcessed();
+        lastIndexed = getTotalIndexed();
+        lastTickTime = System.nanoTime() / 1000_000;
+
         executor.scheduleAtFixedRate(() -> {
-            elapsedTime = (System.nanoTime() / 1000_000) - startTime;
+            long now = System.nanoTime() / 1000_000;
+            elapsedTime = now - startTime;
             if (elapsedTime > 0) {
                 double entriesPerSec = 1000 * getTotalRead() / elapsedTime;
                 logger.info(marker, "{} entries/s. {}", entriesPerSec, getReportMsg());
+                logStageStats(now);
                 logger.info(marker, "Memory: {}", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage());
             }
         }, 10, 10, TimeUnit.SECONDS);
@@ -123,11 +189,57 @@ public final class ProgressWatcher {
 
     public String getReportMsg() {
         long elapsedTime = getElapsedTime();
-        return String.format("Read %d entries in %d min, %d sec. Indexed %d entries.",
+        return String.format("Read %d entries in %d min, %d sec. Processed %d entries. Indexed %d entries.",
                 getTotalRead(),
                 TimeUnit.MILLISECONDS.toMinutes(elapsedTime),
                 TimeUnit.MILLISECONDS.toSeconds(elapsedTime) -
-                        TimeUnit.MINUTES.toSeconds(TimeUnit.MILLISECONDS.toMinutes(elapsedTime)), getTotalIndexed());
+                        TimeUnit.MINUTES.toSeconds(TimeUnit.MILLISECONDS.toMinutes(elapsedTime)),
+                getTotalProcessed(), getTotalIndexed());
+    }
+
+    private synchronized void logStageStats(long now) {
+        long interval = now - lastTickTime;
+        if (interval <= 0) {
+            return;
+        }
+
+        long read = getTotalRead();
+        long processed = getTotalProcessed();
+        long indexed = getTotalIndexed();
+
+        logger.info(marker, "Stages (entries/s): read={}, processed={}, indexed={}. Queues: {}. Timings (ms/entry): {}",
+                1000 * (read - lastRead) / interval,
+                1000 * (processed - lastProcessed) / interval,
+                1000 * (indexed - lastIndexed) / interval,
+                getQueuesDepthMsg(), getTimingsMsg());
+
+        lastRead = read;
+        lastProcessed = processed;
+        lastIndexed = indexed;
+        lastTickTime = now;
+    }
+
+    private String getQueuesDepthMsg() {
+        StringBuilder sb = new StringBuilder("{");
+        queues.forEach((name, queue) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(name).append('=').append(queue.size()).append('/').append(queue.size() + queue.remainingCapacity());
+        });
+        return sb.append('}').toString();
+    }
+
+    private String getTimingsMsg() {
+        StringBuilder sb = new StringBuilder("{");
+        timings.forEach((name, timing) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(name).append('=').append(String.format("%.2f", timing.getAverageMillis()))
+                    .append(" (").append(timing.count.get()).append(')');
+        });
+        return sb.append('}').toString();
     }
 
     private void logStats() {
@@ -149,4 +261,14 @@ public final class ProgressWatcher {
             logger.debug(marker, "Stats will not be persisted, stargraph.progress-watcher.log-stats=no.");
         }
     }
+
+    private static final class Timing {
+        final AtomicLong count = new AtomicLong(0);
+        final AtomicLong nanos = new AtomicLong(0);
+
+        double getAverageMillis() {
+            long n = count.get();
+            return n > 0 ? nanos.get() / 1000_000d / n : 0;
+        }
+    }
 }
@@ -0,0 +1,262 @@
+package net.stargraph.core.processors;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.StarGraphException;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Exact set of fixed length ids (hashes) kept outside the heap.
+ * <p>
+ * Open addressing with linear probing over direct buffers, split in segments so it can grow beyond 2GB.
+ * Ids are expected to be uniformly distributed (they are hashes) so their own bytes are used as the hash code.
+ * An all zeros slot is empty, the all zeros id is tracked apart. Not thread-safe.
+ */
+final class OffHeapIdSet {
+    private static final int SEGMENTS = 64;
+    private static final double LOAD_FACTOR = 0.7;
+    private static final int MIN_SLOTS = 1024;
+
+    private final int idLength;
+    private final Segment[] segments;
+    private boolean containsZero;
+
+    OffHeapIdSet(int idLength, long expectedEntries) {
+        if (idLength < 8) {
+            throw new IllegalArgumentException("Ids must have at least 8 bytes.");
+        }
+        this.idLength = idLength;
+        this.segments = new Segment[SEGMENTS];
+        int slots = slotsFor((long) Math.ceil(expectedEntries / (double) SEGMENTS / LOAD_FACTOR));
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(slots);
+        }
+    }
+
+    int getIdLength() {
+        return idLength;
+    }
+
+    long size() {
+        long size = containsZero ? 1 : 0;
+        for (Segment s : segments) {
+            size += s.size;
+        }
+        return size;
+    }
+
+    long allocatedBytes() {
+        long bytes = 0;
+        for (Segment s : segments) {
+            bytes += s.buffer.capacity();
+        }
+        return bytes;
+    }
+
+    boolean contains(byte[] id) {
+        checkLength(id);
+        return isZero(id) ? containsZero : segment(id).find(id) < 0;
+    }
+
+    /**
+     * @return true if the id was not already present.
+     */
+    boolean add(byte[] id) {
+        checkLength(id);
+        if (isZero(id)) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        return segment(id).add(id);
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(idLength);
+        out.writeBoolean(containsZero);
+        byte[] slot = new byte[idLength];
+        for (Segment s : segments) {
+            out.writeInt(s.size);
+            for (int i = 0; i < s.slots; i++) {
+                if (s.read(i, slot)) {
+                    out.write(slot);
+                }
+            }
+        }
+    }
+
+    static OffHeapIdSet readFrom(DataInputStream in) throws IOException {
+        int idLength = in.readInt();
+        OffHeapIdSet set = new OffHeapIdSet(idLength, 0);
+        set.containsZero = in.readBoolean();
+        byte[] id = new byte[idLength];
+        for (Segment s : set.segments) {
+            int size = in.readInt();
+            s.resize(slotsFor((long) Math.ceil(size / LOAD_FACTOR)));
+            for (int i = 0; i < size; i++) {
+                in.readFully(id);
+                s.add(id);
+            }
+        }
+        return set;
+    }
+
+    private Segment segment(byte[] id) {
+        return segments[(id[0] & 0xFF) % SEGMENTS];
+    }
+
+    private void checkLength(byte[] id) {
+        if (id.length != idLength) {
+            throw new IllegalArgumentException("Expected id of " + idLength + " bytes, got " + id.length);
+        }
+    }
+
+    private static boolean isZero(byte[] id) {
+        for (byte b : id) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int slotsFor(long entries) {
+        long slots = MIN_SLOTS;
+        while (slots < entries) {
+            slots <<= 1;
+        }
+        if (slots > (1 << 30)) {
+            throw new StarGraphException("Too many entries: " + entries);
+        }
+        return (int) slots;
+    }
+
+    private static long hashOf(byte[] id) {
+        long h = 0;
+        for (int i = 1; i < 9; i++) {
+            h = (h << 8) | (id[i] & 0xFF);
+        }
+        return h;
+    }
+
+    private final class Segment {
+        private ByteBuffer buffer;
+        private int slots;
+        private int size;
+
+        Segment(int slots) {
+            allocate(slots);
+        }
+
+        /**
+         * @return negative if found, otherwise the free slot where the id belongs.
+         */
+        int find(byte[] id) {
+            int mask = slots - 1;
+            int slot = (int) (hashOf(id) & mask);
+            while (true) {
+                int offset = slot * idLength;
+                boolean empty = true;
+                boolean equal = true;
+                for (int i = 0; i < idLength; i++) {
+                    byte b = buffer.get(offset + i);
+                    empty &= b == 0;
+                    equal &= b == id[i];
+                }
+                if (equal) {
+                    return -1;
+                }
+                if (empty) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        boolean add(byte[] id) {
+            int slot = find(id);
+            if (slot < 0) {
+                return false;
+            }
+            write(slot, id);
+            if (++size > slots * LOAD_FACTOR) {
+                resize(slots << 1);
+            }
+            return true;
+        }
+
+        boolean read(int slot, byte[] dest) {
+            int offset = slot * idLength;
+            boolean empty = true;
+            for (int i = 0; i < idLength; i++) {
+                dest[i] = buffer.get(offset + i);
+                empty &= dest[i] == 0;
+            }
+            return !empty;
+        }
+
+        void resize(int newSlots) {
+            if (newSlots <= slots) {
+                return;
+            }
+            ByteBuffer old = buffer;
+            int oldSlots = slots;
+            allocate(newSlots);
+            byte[] id = new byte[idLength];
+            for (int i = 0; i < oldSlots; i++) {
+                int offset = i * idLength;
+                boolean empty = true;
+                for (int j = 0; j < idLength; j++) {
+                    id[j] = old.get(offset + j);
+                    empty &= id[j] == 0;
+                }
+                if (!empty) {
+                    write(find(id), id);
+                }
+            }
+        }
+
+        private void allocate(int slots) {
+            if ((long) slots * idLength > Integer.MAX_VALUE) {
+                throw new StarGraphException("Segment is full, " + size + " entries.");
+            }
+            this.buffer = ByteBuffer.allocateDirect(slots * idLength);
+            this.slots = slots;
+        }
+
+        private void write(int slot, byte[] id) {
+            int offset = slot * idLength;
+            for (int i = 0; i < idLength; i++) {
+                buffer.put(offset + i, id[i]);
+            }
+        }
+    }
+}
@@ -28,12 +28,15 @@ package net.stargraph.core.processors;
 
 import com.typesafe.config.Config;
 import net.stargraph.core.Stargraph;
+import net.stargraph.core.index.Indexer;
+import net.stargraph.core.index.ProgressWatcher;
 import net.stargraph.core.ner.LinkedNamedEntity;
 import net.stargraph.core.ner.NER;
 import net.stargraph.data.processor.BaseProcessor;
 import net.stargraph.data.processor.Holder;
 import net.stargraph.data.processor.ProcessorException;
 import net.stargraph.model.Document;
+import net.stargraph.model.KBId;
 import net.stargraph.model.LabeledEntity;
 import net.stargraph.model.Passage;
 import org.lambda3.text.simplification.discourse.utils.sentences.SentencesUtils;
@@ -41,20 +44,33 @@ import org.lambda3.text.simplification.discourse.utils.sentences.SentencesUtils;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
  * Can be placed in the workflow to create passages.
+ * Sentences of a document are classified and linked concurrently, passages keep the order of the text.
  */
-public final class PassageProcessor extends BaseProcessor {
+public final class PassageProcessor extends BaseProcessor implements AutoCloseable {
     public static String name = "passage-processor";
 
     private Stargraph stargraph;
+    private int threads;
+    private ExecutorService executor;
+    // Only used to report the time spent, resolved once instead of for each document.
+    private Map<KBId, Indexer> indexers = new ConcurrentHashMap<>();
 
     public PassageProcessor(Stargraph stargraph, Config config) {
         super(config);
         this.stargraph = Objects.requireNonNull(stargraph);
+        int threads = getConfig().hasPath("threads") ? getConfig().getInt("threads") : 0;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
     }
 
     @Override
@@ -64,17 +80,21 @@ public final class PassageProcessor extends BaseProcessor {
 
         if (entry instanceof Document) {
             Document document = (Document)entry;
+            long start = System.nanoTime();
 
-            List<Passage> passages = new ArrayList<>();
-            for (String sentence : SentencesUtils.splitIntoSentences(document.getText())) {
-                List<LinkedNamedEntity> lners = ner.searchAndLink(sentence);
+            List<String> sentences = SentencesUtils.splitIntoSentences(document.getText());
+            List<CompletableFuture<Passage>> tasks = sentences.stream()
+                    .map(sentence -> CompletableFuture.supplyAsync(() -> createPassage(ner, sentence), getExecutor()))
+                    .collect(Collectors.toList());
 
-                // only add linked entities
-                List<LabeledEntity> entities = lners.parallelStream()
-                        .filter(e -> e.isLinked())
-                        .map(LinkedNamedEntity::getEntity).collect(Collectors.toList());
-
-                passages.add(new Passage(sentence, entities));
+            List<Passage> passages = new ArrayList<>(tasks.size());
+            try {
+                for (CompletableFuture<Passage> task : tasks) {
+                    passages.add(task.join());
+                }
+            } catch (CompletionException e) {
+                tasks.forEach(t -> t.cancel(false));
+                throw new ProcessorException("Fail to create the passages of " + document.getId(), e.getCause());
             }
 
             holder.set(new Document(
@@ -84,6 +104,13 @@ public final class PassageProcessor extends BaseProcessor {
                     document.getText(),
                     passages
             ));
+
+            long elapsed = System.nanoTime() - start;
+            logger.debug(marker, "{} passages of {} in {}ms", passages.size(), document.getId(), elapsed / 1000_000);
+            ProgressWatcher progress = indexers.computeIfAbsent(holder.getKBId(), stargraph::getIndexer).getProgressWatcher();
+            if (progress != null) {
+                progress.recordTime(name, elapsed);
+            }
         }
     }
 
@@ -91,4 +118,38 @@ public final class PassageProcessor extends BaseProcessor {
     public String getName() {
         return name;
     }
+
+    /**
+     * Stops the passage threads. They are created again if more documents come in.
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private static Passage createPassage(NER ner, String sentence) {
+        List<LinkedNamedEntity> lners = ner.searchAndLink(sentence);
+
+        // only add linked entities
+        List<LabeledEntity> entities = lners.stream()
+                .filter(LinkedNamedEntity::isLinked)
+                .map(LinkedNamedEntity::getEntity).collect(Collectors.toList());
+
+        return new Passage(sentence, entities);
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            logger.info(marker, "Passage threads: {}", threads);
+            executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return executor;
+    }
 }
@@ -80,8 +80,8 @@ public final class Processors {
 
         try {
 
-            // use special constructor for PassageProcessor (to pass core-reference)
-            if ((core != null) && (c.equals(PassageProcessor.class))) {
+            // use special constructor when available (to pass core-reference)
+            if (core != null && hasCoreConstructor(c)) {
                 Constructor<? extends Processor> constructor = c.getConstructor(Stargraph.class, Config.class);
                 return constructor.newInstance(core, config);
             }
@@ -93,4 +93,13 @@ public final class Processors {
             throw new StarGraphException("Fail to create processor: " +  name, e);
         }
     }
+
+    private static boolean hasCoreConstructor(Class<? extends Processor> c) {
+        try {
+            c.getConstructor(Stargraph.class, Config.class);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
 }
@@ -29,25 +29,73 @@ package net.stargraph.core.processors;
 import com.google.common.hash.BloomFilter;
 import com.google.common.hash.Funnels;
 import com.typesafe.config.Config;
+import net.stargraph.StarGraphException;
+import net.stargraph.core.Stargraph;
 import net.stargraph.data.processor.BaseProcessor;
+import net.stargraph.data.processor.Checkpointable;
 import net.stargraph.data.processor.Hashable;
 import net.stargraph.data.processor.Holder;
 import net.stargraph.data.processor.ProcessorException;
+import net.stargraph.model.KBId;
 
-public final class SinkDuplicateProcessor extends BaseProcessor {
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Sinks entries already seen, comparing their hash ids.
+ * <p>
+ * In 'bloom' mode a Bloom Filter is the only judge, thus false positives are silently sunk.
+ * In 'exact' mode each Bloom Filter hit is confirmed against an off-heap set of the ids, nothing is lost.
+ * Both are sized from 'expected-entries' or, when not set, from the triple count of the KB graph.
+ */
+public final class SinkDuplicateProcessor extends BaseProcessor implements Checkpointable {
     public static String name = "sink-duplicate";
+    private static final long DEFAULT_EXPECTED_ENTRIES = 10_000_000;
+    private static final long REPORT_INTERVAL = 1_000_000;
+
+    private Stargraph stargraph;
+    private boolean exact;
+    private double fpp;
     private BloomFilter<byte[]> bloomFilter;
+    private OffHeapIdSet idSet;
+    private long checked;
+    private long duplicates;
+    private long falsePositives;
+    private double expectedFalsePositives;
 
     public SinkDuplicateProcessor(Config config) {
+        this(null, config);
+    }
+
+    public SinkDuplicateProcessor(Stargraph stargraph, Config config) {
         super(config);
-        //TODO: should be in configuration, assuming worst case scenario with acceptable loss.
-        //In the near future we must treat the losses.
-        bloomFilter = BloomFilter.create(Funnels.byteArrayFunnel(), 100000000, 0.02);
+        this.stargraph = stargraph;
+        String mode = getConfig().getString("mode");
+        if (!mode.equals("bloom") && !mode.equals("exact")) {
+            throw new StarGraphException("Unknown mode '" + mode + "', expected 'bloom' or 'exact'.");
+        }
+        this.exact = mode.equals("exact");
+        this.fpp = getConfig().getDouble("fpp");
     }
 
     @Override
     public void doRun(Holder holder) throws ProcessorException {
-        checkFilter(holder);
+        byte[] hashId = ((Hashable) holder.get()).hash();
+        // The chain is shared by the loader workers. Test and put must be atomic.
+        synchronized (this) {
+            if (bloomFilter == null) {
+                init(holder.getKBId(), hashId.length);
+            }
+
+            holder.setSink(isDuplicate(hashId));
+
+            if (++checked % REPORT_INTERVAL == 0) {
+                logger.info(marker, "{}", getReportMsg());
+            }
+        }
     }
 
     @Override
@@ -55,10 +103,120 @@ public final class SinkDuplicateProcessor extends BaseProcessor {
         return name;
     }
 
-    private void checkFilter(Holder holder) {
-        Hashable o = (Hashable) holder.get();
-        byte[] hashId = o.hash();
-        holder.setSink(bloomFilter.mightContain(hashId));
+    /**
+     * @return Entries sunk. In 'bloom' mode it includes the false positives.
+     */
+    public synchronized long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * @return Bloom Filter false positives. Exact count in 'exact' mode (these were not sunk), estimated otherwise.
+     */
+    public synchronized long getFalsePositives() {
+        return exact ? falsePositives : Math.round(expectedFalsePositives);
+    }
+
+    public synchronized String getReportMsg() {
+        if (exact) {
+            return String.format("Checked %d entries. Sunk %d true duplicates, kept %d Bloom Filter false positives.",
+                    checked, duplicates, falsePositives);
+        }
+        return String.format("Checked %d entries. Sunk %d duplicates, about %d of them suspected false positives.",
+                checked, duplicates, getFalsePositives());
+    }
+
+    @Override
+    public synchronized void writeState(OutputStream out) throws IOException {
+        logger.info(marker, "{}", getReportMsg());
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeBoolean(exact);
+        dataOut.writeBoolean(bloomFilter != null);
+        if (bloomFilter != null) {
+            dataOut.writeLong(checked);
+            dataOut.writeLong(duplicates);
+            dataOut.writeLong(falsePositives);
+            dataOut.writeDouble(expectedFalsePositives);
+            bloomFilter.writeTo(dataOut);
+            if (exact) {
+                idSet.writeTo(dataOut);
+            }
+        }
+        dataOut.flush();
+    }
+
+    @Override
+    public synchronized void readState(InputStream in) throws IOException {
+        DataInputStream dataIn = new DataInputStream(in);
+        if (dataIn.readBoolean() != exact) {
+            throw new StarGraphException("State was written in a different mode.");
+        }
+        if (dataIn.readBoolean()) {
+            checked = dataIn.readLong();
+            duplicates = dataIn.readLong();
+            falsePositives = dataIn.readLong();
+            expectedFalsePositives = dataIn.readDouble();
+            bloomFilter = BloomFilter.readFrom(dataIn, Funnels.byteArrayFunnel());
+            if (exact) {
+                idSet = OffHeapIdSet.readFrom(dataIn);
+            }
+        }
+    }
+
+    private boolean isDuplicate(byte[] hashId) {
+        boolean mightContain = bloomFilter.mightContain(hashId);
+
+        if (exact) {
+            if (mightContain) {
+                if (idSet.contains(hashId)) {
+                    duplicates++;
+                    return true;
+                }
+                falsePositives++;
+            }
+            idSet.add(hashId);
+        } else {
+            if (mightContain) {
+                duplicates++;
+                return true;
+            }
+            // Chance that a new entry would have been sunk at this point.
+            expectedFalsePositives += bloomFilter.expectedFpp();
+        }
+
         bloomFilter.put(hashId);
+        return false;
+    }
+
+    private void init(KBId kbId, int idLength) {
+        long expectedEntries = getConfig().getLong("expected-entries");
+        if (expectedEntries <= 0) {
+            expectedEntries = estimateEntries(kbId);
+        }
+
+        bloomFilter = BloomFilter.create(Funnels.byteArrayFunnel(), expectedEntries, fpp);
+        if (exact) {
+            idSet = new OffHeapIdSet(idLength, expectedEntries);
+            logger.info(marker, "Exact mode for {} entries, {} bytes off-heap.", expectedEntries, idSet.allocatedBytes());
+        } else {
+            logger.info(marker, "Bloom Filter for {} entries, fpp={}.", expectedEntries, fpp);
+        }
+    }
+
+    private long estimateEntries(KBId kbId) {
+        if (stargraph != null) {
+            try {
+                // Upper bound for all built-in models. One fact per triple, less entities and properties.
+                long triples = stargraph.getKBCore(kbId.getId()).getGraphModel().size();
+                if (triples > 0) {
+                    logger.info(marker, "Estimated {} entries for {} from the graph size.", triples, kbId);
+                    return triples;
+                }
+            } catch (Exception e) {
+                logger.warn(marker, "Can't estimate entries for {} from the graph.", kbId, e);
+            }
+        }
+        logger.warn(marker, "Assuming {} entries for {}. Consider setting 'expected-entries'.", DEFAULT_EXPECTED_ENTRIES, kbId);
+        return DEFAULT_EXPECTED_ENTRIES;
     }
 }
@@ -40,16 +40,18 @@ public final class Analyzers {
     private Rules rules;
     private Annotator annotator;
     private ConcurrentHashMap<Language, QuestionAnalyzer> questionAnalyzers;
+    private long analysisCacheSize;
 
     public Analyzers(Config config) {
         this.rules = new Rules(config);
         AnnotatorFactory factory = createAnnotatorFactory(config);
         this.annotator = factory.create();
         this.questionAnalyzers = new ConcurrentHashMap<>();
+        this.analysisCacheSize = config.getLong("query.analysis-cache.max-size");
     }
 
     public QuestionAnalyzer getQuestionAnalyzer(Language language) {
-        return questionAnalyzers.computeIfAbsent(language, lang -> new QuestionAnalyzer(lang, annotator, rules));
+        return questionAnalyzers.computeIfAbsent(language, lang -> new QuestionAnalyzer(lang, annotator, rules, analysisCacheSize));
     }
 
     public static AnnotatorFactory createAnnotatorFactory(Config config) {
@@ -41,12 +41,16 @@ import net.stargraph.model.LabeledEntity;
 import net.stargraph.query.InteractionMode;
 import net.stargraph.query.Language;
 import net.stargraph.rank.*;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static net.stargraph.query.InteractionMode.*;
@@ -63,6 +67,8 @@ public final class QueryEngine {
     private InteractionModeSelector modeSelector;
     private Namespace namespace;
     private Language language;
+    private boolean directExecution;
+    private long timeoutMillis;
 
     public QueryEngine(String dbId, Stargraph stargraph) {
         this.dbId = Objects.requireNonNull(dbId);
@@ -73,6 +79,8 @@ public final class QueryEngine {
         this.namespace = core.getNamespace();
         this.language = core.getLanguage();
         this.modeSelector = new InteractionModeSelector(stargraph.getMainConfig(), language);
+        this.directExecution = stargraph.getMainConfig().getBoolean("query.direct-execution");
+        this.timeoutMillis = stargraph.getMainConfig().getDuration("query.timeout", TimeUnit.MILLISECONDS);
     }
 
     public QueryResponse query(String query) {
@@ -112,7 +120,18 @@ public final class QueryEngine {
     }
 
     private QueryResponse sparqlQuery(String userQuery) {
-        Map<String, List<LabeledEntity>> vars = graphSearcher.select(userQuery);
+        // Parsed once, the searcher executes the parsed query.
+        Query query = QueryFactory.create(userQuery);
+        if (query.isAskType()) {
+            AnswerSetResponse answerSet = new AnswerSetResponse(SPARQL, userQuery);
+            answerSet.setEntityAnswer(Collections.emptyList());
+            answerSet.setTextAnswer(Collections.singletonList(String.valueOf(graphSearcher.ask(query))));
+            answerSet.setMappings(Collections.emptyMap());
+            answerSet.setSPARQLQuery(userQuery);
+            return answerSet;
+        }
+
+        Map<String, List<LabeledEntity>> vars = graphSearcher.select(query);
         if (!vars.isEmpty()) {
             return new SPARQLSelectResponse(SPARQL, userQuery, vars);
         }
@@ -128,14 +147,22 @@ public final class QueryEngine {
         QueryPlanPatterns triplePatterns = queryBuilder.getTriplePatterns();
         List<DataModelBinding> bindings = queryBuilder.getBindings();
 
-        triplePatterns.forEach(triplePattern -> {
-            logger.debug(marker, "Resolving {}", triplePattern);
-            resolve(asTriple(triplePattern, bindings), queryBuilder);
-        });
+        resolve(triplePatterns, bindings, queryBuilder);
 
-        String sparqlQueryStr = queryBuilder.build();
+        if (queryBuilder.getQueryType() == QueryType.ASK) {
+            String sparqlQueryStr = queryBuilder.build();
+            AnswerSetResponse answerSet = new AnswerSetResponse(NLI, userQuery, queryBuilder);
+            answerSet.setEntityAnswer(Collections.emptyList());
+            answerSet.setTextAnswer(Collections.singletonList(String.valueOf(graphSearcher.ask(sparqlQueryStr))));
+            answerSet.setMappings(queryBuilder.getMappings());
+            answerSet.setSPARQLQuery(sparqlQueryStr);
+            return answerSet;
+        }
 
-        Map<String, List<LabeledEntity>> vars = graphSearcher.select(sparqlQueryStr);
+        // The direct execution skips rendering and parsing the UNIONs of all candidates.
+        final String sparqlQueryStr = directExecution ? null : queryBuilder.build();
+        Map<String, List<LabeledEntity>> vars = directExecution ?
+                graphSearcher.select(queryBuilder.buildCandidatePatterns()) : graphSearcher.select(sparqlQueryStr);
 
         if (!vars.isEmpty()) {
             AnswerSetResponse answerSet = new AnswerSetResponse(NLI, userQuery, queryBuilder);
@@ -145,7 +172,8 @@ public final class QueryEngine {
 
             answerSet.setEntityAnswer(new ArrayList<>(expanded)); // convention, answer must be bound to the first var
             answerSet.setMappings(queryBuilder.getMappings());
-            answerSet.setSPARQLQuery(sparqlQueryStr);
+            // Only rendered if the query is shown.
+            answerSet.setSPARQLQuery(sparqlQueryStr != null ? () -> sparqlQueryStr : queryBuilder::build);
 
             System.out.println("-----> " + answerSet.getMappings());
             //
@@ -230,52 +258,138 @@ public final class QueryEngine {
         return new NoResponse(NLI, userQuery);
     }
 
-    private void resolve(Triple triple, SPARQLQueryBuilder builder) {
-        if (triple.p.getModelType() != DataModelType.TYPE) {
-            // if predicate is not a type assume: I (C|P) V pattern
-            InstanceEntity pivot = resolvePivot(triple.s, builder);
-            pivot = pivot != null ? pivot : resolvePivot(triple.o, builder);
-            resolvePredicate(pivot, triple.p, builder);
+    /**
+     * Resolves all triple patterns concurrently. A binding is searched only after the bindings it depends on
+     * (its pivot) are mapped, so the latency is bounded by the longest dependency chain instead of the sum.
+     */
+    private void resolve(QueryPlanPatterns triplePatterns, List<DataModelBinding> bindings, SPARQLQueryBuilder builder) {
+        final long startTime = System.currentTimeMillis();
+        final ExecutorService executor = core.getQueryExecutor();
+        // Only touched by this thread, while the graph is scheduled.
+        final Map<DataModelBinding, CompletableFuture<?>> resolved = new HashMap<>();
+        final List<CompletableFuture<?>> tasks = new ArrayList<>();
+        // Checked by every stage, a running search can't be interrupted.
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        for (TriplePattern triplePattern : triplePatterns) {
+            logger.debug(marker, "Resolving {}", triplePattern);
+            Triple triple = asTriple(triplePattern, bindings);
+
+            if (triple.p.getModelType() != DataModelType.TYPE) {
+                // if predicate is not a type assume: I (C|P) V pattern
+                CompletableFuture<InstanceEntity> pivot = schedulePivot(triple, builder, resolved, executor, cancelled);
+                tasks.add(pivot);
+                if ((triple.p.getModelType() == DataModelType.CLASS
+                        || triple.p.getModelType() == DataModelType.PROPERTY) && !resolved.containsKey(triple.p)) {
+                    CompletableFuture<Void> predicate =
+                            pivot.thenAcceptAsync(i -> resolvePredicate(i, triple.p, builder, cancelled), executor);
+                    resolved.put(triple.p, predicate);
+                    tasks.add(predicate);
+                }
+            }
+            else {
+                // Probably is: V T C
+                DataModelBinding binding = triple.s.getModelType() == DataModelType.VARIABLE ? triple.o : triple.s;
+                if (binding.getModelType() == DataModelType.CLASS) {
+                    CompletableFuture<?> prior = resolved.get(binding);
+                    CompletableFuture<Void> clazz = prior != null ?
+                            prior.thenRunAsync(() -> resolveClass(binding, builder, cancelled), executor) :
+                            CompletableFuture.runAsync(() -> resolveClass(binding, builder, cancelled), executor);
+                    resolved.put(binding, clazz);
+                    tasks.add(clazz);
+                }
+            }
+        }
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(tasks.toArray(new CompletableFuture[tasks.size()]));
+        try {
+            all.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            logger.debug(marker, "Resolved {} tasks in {}ms", tasks.size(), System.currentTimeMillis() - startTime);
+        } catch (TimeoutException e) {
+            cancelled.set(true);
+            tasks.forEach(t -> t.cancel(true));
+            throw new StarGraphException(String.format("Resolution timed out after %dms", timeoutMillis));
+        } catch (ExecutionException e) {
+            throw new StarGraphException("Resolution failed", e.getCause());
+        } catch (InterruptedException e) {
+            cancelled.set(true);
+            tasks.forEach(t -> t.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new StarGraphException("Resolution interrupted", e);
+        }
+    }
+
+    /**
+     * Schedules the pivot of a triple, the subject first and then the object, as {@link #resolvePivot} does.
+     * A pivot already scheduled by a previous triple becomes a dependency and is never searched twice.
+     */
+    private CompletableFuture<InstanceEntity> schedulePivot(Triple triple, SPARQLQueryBuilder builder,
+                                                            Map<DataModelBinding, CompletableFuture<?>> resolved,
+                                                            Executor executor, AtomicBoolean cancelled) {
+        final boolean fromSubject = isPivot(triple.s, resolved);
+        final DataModelBinding binding = fromSubject ? triple.s : triple.o;
+        CompletableFuture<InstanceEntity> pivot;
+
+        CompletableFuture<?> prior = resolved.get(binding);
+        if (prior != null) {
+            pivot = prior.thenApplyAsync(x -> resolvePivot(binding, builder, cancelled), executor);
+        }
+        else if (binding.getModelType() == DataModelType.INSTANCE) {
+            pivot = CompletableFuture.supplyAsync(() -> resolvePivot(binding, builder, cancelled), executor);
+            resolved.put(binding, pivot);
         }
         else {
-            // Probably is: V T C
-            DataModelBinding binding = triple.s.getModelType() == DataModelType.VARIABLE ? triple.o : triple.s;
-            resolveClass(binding, builder);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (fromSubject) {
+            // falls back to the object when the subject could not be mapped to an instance
+            CompletableFuture<?> other = resolved.getOrDefault(triple.o, CompletableFuture.completedFuture(null));
+            pivot = pivot.thenCombineAsync(other, (i, x) -> i != null ? i : resolvePivot(triple.o, builder, cancelled), executor);
         }
+        return pivot;
     }
 
-    private void resolveClass(DataModelBinding binding, SPARQLQueryBuilder builder) {
-        if (binding.getModelType() == DataModelType.CLASS) {
+    private static boolean isPivot(DataModelBinding binding, Map<DataModelBinding, CompletableFuture<?>> resolved) {
+        return resolved.containsKey(binding) || binding.getModelType() == DataModelType.INSTANCE;
+    }
 
+    private void resolveClass(DataModelBinding binding, SPARQLQueryBuilder builder, AtomicBoolean cancelled) {
+        if (binding.getModelType() == DataModelType.CLASS) {
+            checkCancelled(cancelled);
             ModifiableSearchParams searchParams = ModifiableSearchParams.create(dbId).term(binding.getTerm());
-            ModifiableRankParams rankParams = ParamsBuilder.word2vec();
+            ModifiableRankParams rankParams = core.createDistributionalParams().topK(3);
             Scores scores = entitySearcher.classSearch(searchParams, rankParams);
-            builder.add(binding, scores.stream().limit(3).collect(Collectors.toList()));
+            checkCancelled(cancelled);
+            builder.add(binding, scores);
         }
     }
 
-    private void resolvePredicate(InstanceEntity pivot, DataModelBinding binding, SPARQLQueryBuilder builder) {
+    private void resolvePredicate(InstanceEntity pivot, DataModelBinding binding, SPARQLQueryBuilder builder,
+                                  AtomicBoolean cancelled) {
         if ((binding.getModelType() == DataModelType.CLASS
                 || binding.getModelType() == DataModelType.PROPERTY) && !builder.isResolved(binding)) {
-
+            checkCancelled(cancelled);
             ModifiableSearchParams searchParams = ModifiableSearchParams.create(dbId).term(binding.getTerm());
-            ModifiableRankParams rankParams = ParamsBuilder.word2vec();
+            ModifiableRankParams rankParams = core.createDistributionalParams().topK(6);
             Scores scores = entitySearcher.pivotedSearch(pivot, searchParams, rankParams);
-            builder.add(binding, scores.stream().limit(6).collect(Collectors.toList()));
+            checkCancelled(cancelled);
+            builder.add(binding, scores);
         }
     }
 
-    private InstanceEntity resolvePivot(DataModelBinding binding, SPARQLQueryBuilder builder) {
+    private InstanceEntity resolvePivot(DataModelBinding binding, SPARQLQueryBuilder builder, AtomicBoolean cancelled) {
         List<Score> mappings = builder.getMappings(binding);
         if (!mappings.isEmpty()) {
             return (InstanceEntity)mappings.get(0).getEntry();
         }
 
         if (binding.getModelType() == DataModelType.INSTANCE) {
-
+            checkCancelled(cancelled);
             ModifiableSearchParams searchParams = ModifiableSearchParams.create(dbId).term(binding.getTerm());
-            ModifiableRankParams rankParams = ParamsBuilder.levenshtein(); // threshold defaults to auto
+            ModifiableRankParams rankParams = ParamsBuilder.levenshtein().topK(1); // threshold defaults to auto
             Scores scores = entitySearcher.instanceSearch(searchParams, rankParams);
+            checkCancelled(cancelled);
             InstanceEntity instance = (InstanceEntity) scores.get(0).getEntry();
             builder.add(binding, Collections.singletonList(scores.get(0)));
             return instance;
@@ -283,10 +397,20 @@ public final class QueryEngine {
         return null;
     }
 
+    /**
+     * Stops a stage of a timed out resolution. Best-effort: a search already running is not interrupted,
+     * its result is just discarded instead of being added to the builder.
+     */
+    private static void checkCancelled(AtomicBoolean cancelled) {
+        if (cancelled.get()) {
+            throw new CancellationException("Resolution cancelled");
+        }
+    }
+
     private InstanceEntity resolveInstance(String instanceTerm) {
 
         ModifiableSearchParams searchParams = ModifiableSearchParams.create(dbId).term(instanceTerm);
-        ModifiableRankParams rankParams = ParamsBuilder.levenshtein(); // threshold defaults to auto
+        ModifiableRankParams rankParams = ParamsBuilder.levenshtein().topK(1); // threshold defaults to auto
         Scores scores = entitySearcher.instanceSearch(searchParams, rankParams);
         return (InstanceEntity) scores.get(0).getEntry();
     }
@@ -28,6 +28,7 @@ package net.stargraph.core.query;
 
 import net.stargraph.StarGraphException;
 import net.stargraph.core.Namespace;
+import net.stargraph.core.graph.CandidatePattern;
 import net.stargraph.core.query.nli.DataModelBinding;
 import net.stargraph.core.query.nli.QueryPlanPatterns;
 import net.stargraph.rank.Score;
@@ -38,6 +39,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public final class SPARQLQueryBuilder {
+    private static final String RDF_TYPE = "http://www.w3.org/1999/02/22-rdf-syntax-ns#type";
+
     private QueryType queryType;
     private QueryPlanPatterns triplePatterns;
     private List<DataModelBinding> bindings;
@@ -98,7 +101,12 @@ public final class SPARQLQueryBuilder {
         final Scores newScores = new Scores(scores.size());
         // Expanding the Namespace for all entities
         scores.forEach(s -> newScores.add(new Score(namespace.expand(s.getEntry()), s.getValue())));
-        mappings.computeIfAbsent(binding, (b) -> new Scores()).addAll(newScores);
+        // Bindings may be resolved concurrently, merging must be atomic.
+        mappings.compute(binding, (b, current) -> {
+            List<Score> merged = current != null ? current : new Scores();
+            merged.addAll(newScores);
+            return merged;
+        });
     }
 
     String build() {
@@ -114,6 +122,18 @@ public final class SPARQLQueryBuilder {
         throw new StarGraphException("Unexpected: " + queryType);
     }
 
+    /**
+     * The same statements of {@link #build()} for engines that evaluate the candidates directly.
+     * Unmapped placeholders have no candidates.
+     */
+    List<CandidatePattern> buildCandidatePatterns() {
+        return triplePatterns.stream().map(triplePattern -> {
+            String[] components = triplePattern.getPattern().split("\\s");
+            return new CandidatePattern(placeHolder2Terms(components[0]),
+                    placeHolder2Terms(components[1]), placeHolder2Terms(components[2]));
+        }).collect(Collectors.toList());
+    }
+
     private String buildStatements() {
         StringJoiner tripleJoiner = new StringJoiner(" . \n", "{", "}");
 
@@ -160,6 +180,22 @@ public final class SPARQLQueryBuilder {
                 .map(r -> String.format("<%s>", unmap(r.getId()))).collect(Collectors.toList());
     }
 
+    private List<String> placeHolder2Terms(String placeHolder) {
+        if (isVar(placeHolder)) {
+            return Collections.singletonList(placeHolder);
+        }
+
+        if (isType(placeHolder)) {
+            return Collections.singletonList(RDF_TYPE);
+        }
+
+        return getMappings(getBinding(placeHolder)).stream()
+                .map(Score::getRankableView)
+                .map(r -> unmap(r.getId()))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
     private boolean isVar(String s) {
         return s.startsWith("?VAR");
     }
@@ -34,6 +34,7 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class Annotator {
@@ -42,6 +43,17 @@ public abstract class Annotator {
 
     protected abstract List<Word> doRun(Language language, String sentence);
 
+    /**
+     * Annotates many sentences at once. Implementations can override to set up their tools a single time.
+     */
+    protected List<List<Word>> doRun(Language language, List<String> sentences) {
+        List<List<Word>> annotated = new ArrayList<>(sentences.size());
+        for (String sentence : sentences) {
+            annotated.add(doRun(language, sentence));
+        }
+        return annotated;
+    }
+
     public final List<Word> run(Language language, String sentence) {
         logger.debug(marker, "Annotating '{}', language: '{}'", sentence, language);
         try {
@@ -55,4 +67,21 @@ public abstract class Annotator {
             throw new StarGraphException(e);
         }
     }
+
+    /**
+     * @return Words of each sentence, in the same order of the input.
+     */
+    public final List<List<Word>> run(Language language, List<String> sentences) {
+        logger.debug(marker, "Annotating {} sentences, language: '{}'", sentences.size(), language);
+        try {
+            return doRun(language, sentences);
+        }
+        catch (UnsupportedLanguageException e) {
+            throw e;
+        }
+        catch (Exception e) {
+            logger.error(marker, "Erro caught during annotation of {} sentences ({})", sentences.size(), language);
+            throw new StarGraphException(e);
+        }
+    }
 }
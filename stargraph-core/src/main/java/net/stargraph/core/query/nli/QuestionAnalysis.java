@@ -36,11 +36,16 @@ import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 import java.util.regex.Pattern;
 
+/**
+ * Outcome of the analysis of a question. Once resolved it is not modified anymore, thus it can be shared.
+ * Each query gets its own {@link SPARQLQueryBuilder} built from the resolved plan and bindings.
+ */
 public final class QuestionAnalysis {
     private Logger logger = LoggerFactory.getLogger(getClass());
     private Marker marker = MarkerFactory.getMarker("nli");
@@ -49,7 +54,8 @@ public final class QuestionAnalysis {
     private String question;
     private List<Word> annotatedWords;
     private Deque<AnalysisStep> steps;
-    private SPARQLQueryBuilder sparqlQueryBuilder;
+    private QueryPlanPatterns plan;
+    private List<DataModelBinding> bindings;
 
     QuestionAnalysis(String question, QueryType queryType) {
         this.question = Objects.requireNonNull(question);
@@ -112,14 +118,18 @@ public final class QuestionAnalysis {
 
         logger.debug(marker, "Creating SPARQL Query Builder, matched plan for '{}' is '{}'", planId, plan);
 
-        sparqlQueryBuilder = new SPARQLQueryBuilder(queryType, plan, bindings);
+        this.plan = plan;
+        this.bindings = Collections.unmodifiableList(bindings);
     }
 
+    /**
+     * @return A new builder on every call, mappings resolved on it are not shared with other queries.
+     */
     public SPARQLQueryBuilder getSPARQLQueryBuilder() {
-        if (sparqlQueryBuilder == null) {
+        if (plan == null) {
             throw new IllegalStateException();
         }
-        return sparqlQueryBuilder;
+        return new SPARQLQueryBuilder(queryType, plan, bindings);
     }
 
     @Override
@@ -26,6 +26,10 @@ package net.stargraph.core.query.nli;
  * ==========================License-End===============================
  */
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import net.stargraph.query.Language;
 import net.stargraph.StarGraphException;
 import net.stargraph.UnmappedQueryTypeException;
@@ -39,6 +43,7 @@ import org.slf4j.MarkerFactory;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Pattern;
 
 public final class QuestionAnalyzer {
@@ -50,8 +55,16 @@ public final class QuestionAnalyzer {
     private List<QueryPlanPatterns> queryPlanPatterns;
     private List<Pattern> stopPatterns;
     private List<QueryTypePatterns> queryTypePatterns;
+    private Cache<String, QuestionAnalysis> analysisCache;
 
     public QuestionAnalyzer(Language language, Annotator annotator, Rules rules) {
+        this(language, annotator, rules, 0);
+    }
+
+    /**
+     * @param cacheSize Maximum analysis kept for repeated questions, LRU evicted. Zero disables the cache.
+     */
+    public QuestionAnalyzer(Language language, Annotator annotator, Rules rules, long cacheSize) {
         logger.info(marker, "Creating analyzer for '{}'", language);
         this.language = Objects.requireNonNull(language);
         this.annotator = Objects.requireNonNull(annotator);
@@ -59,9 +72,37 @@ public final class QuestionAnalyzer {
         this.queryPlanPatterns = rules.getQueryPlanRules(language);
         this.stopPatterns = rules.getStopRules(language);
         this.queryTypePatterns = rules.getQueryTypeRules(language);
+        if (cacheSize > 0) {
+            this.analysisCache = CacheBuilder.newBuilder().maximumSize(cacheSize).recordStats().build();
+        }
     }
 
     public QuestionAnalysis analyse(String question) {
+        if (analysisCache == null) {
+            return doAnalyse(question);
+        }
+
+        // Only spacing is normalized, the case is meaningful for both the tagger and the rules.
+        String key = question.trim().replaceAll("\\s+", " ");
+        try {
+            return analysisCache.get(key, () -> doAnalyse(question));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // Failed analyses are not cached, the caller gets the original error.
+            if (e.getCause() instanceof StarGraphException) {
+                throw (StarGraphException) e.getCause();
+            }
+            throw new StarGraphException("Failed to analyse '" + question + "'", e.getCause());
+        }
+    }
+
+    /**
+     * @return Statistics of the analysis cache, null when disabled.
+     */
+    public CacheStats getCacheStats() {
+        return analysisCache != null ? analysisCache.stats() : null;
+    }
+
+    private QuestionAnalysis doAnalyse(String question) {
         QuestionAnalysis analysis = null;
         try {
             long startTime = System.currentTimeMillis();
@@ -37,11 +37,13 @@ import net.stargraph.rank.Score;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public final class AnswerSetResponse extends QueryResponse {
     private List<LabeledEntity> entityAnswer;
     private List<String> textAnswer;
     private String sparqlQuery;
+    private Supplier<String> sparqlQueryRenderer;
     private QueryType queryType;
     private Map<DataModelBinding, List<Score>> mappings;
 
@@ -70,6 +72,14 @@ public final class AnswerSetResponse extends QueryResponse {
         this.sparqlQuery = Objects.requireNonNull(sparqlQuery);
     }
 
+    /**
+     * The query is rendered on the first call to {@link #getSparqlQuery()}.
+     */
+    public void setSPARQLQuery(Supplier<String> sparqlQueryRenderer) {
+        this.sparqlQuery = null;
+        this.sparqlQueryRenderer = Objects.requireNonNull(sparqlQueryRenderer);
+    }
+
     public List<LabeledEntity> getEntityAnswer() {
         return entityAnswer;
     }
@@ -87,6 +97,10 @@ public final class AnswerSetResponse extends QueryResponse {
     }
 
     public String getSparqlQuery() {
+        if (sparqlQuery == null && sparqlQueryRenderer != null) {
+            sparqlQuery = sparqlQueryRenderer.get();
+            sparqlQueryRenderer = null;
+        }
         return sparqlQuery;
     }
 
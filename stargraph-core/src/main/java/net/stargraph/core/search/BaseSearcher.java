@@ -28,12 +28,16 @@ package net.stargraph.core.search;
 
 import net.stargraph.core.Stargraph;
 import net.stargraph.model.KBId;
+import net.stargraph.rank.Scores;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public abstract class BaseSearcher implements Searcher {
     protected Logger logger = LoggerFactory.getLogger(getClass());
@@ -41,6 +45,7 @@ public abstract class BaseSearcher implements Searcher {
     protected Stargraph stargraph;
     protected KBId kbId;
     private boolean running;
+    private ExecutorService asyncExecutor;
 
     public BaseSearcher(KBId kbId, Stargraph stargraph) {
         this.stargraph = Objects.requireNonNull(stargraph);
@@ -63,6 +68,10 @@ public abstract class BaseSearcher implements Searcher {
         } else {
             try {
                 onStop();
+                if (asyncExecutor != null) {
+                    asyncExecutor.shutdownNow();
+                    asyncExecutor = null;
+                }
                 running = false;
             }
             catch (Exception e) {
@@ -72,6 +81,28 @@ public abstract class BaseSearcher implements Searcher {
         }
     }
 
+    /**
+     * Runs the blocking search in a bounded pool owned by this searcher. Searchers with a non-blocking client should override.
+     */
+    @Override
+    public CompletableFuture<Scores> searchAsync(SearchQueryHolder holder) {
+        return CompletableFuture.supplyAsync(() -> search(holder), getAsyncExecutor());
+    }
+
+    private synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            int threads = stargraph.getMainConfig().getInt("search.async-threads");
+            threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+            logger.info(marker, "Async search threads for {}: {}", kbId, threads);
+            asyncExecutor = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "search-" + kbId);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return asyncExecutor;
+    }
+
     protected void onStart() {
         // Specific implementation detail
     }
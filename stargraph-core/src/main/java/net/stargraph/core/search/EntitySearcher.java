@@ -26,12 +26,18 @@ package net.stargraph.core.search;
  * ==========================License-End===============================
  */
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.typesafe.config.Config;
+import net.stargraph.StarGraphException;
 import net.stargraph.core.KBCore;
 import net.stargraph.core.Namespace;
 import net.stargraph.core.Stargraph;
 import net.stargraph.model.BuiltInModel;
 import net.stargraph.model.Fact;
 import net.stargraph.model.InstanceEntity;
+import net.stargraph.model.KBId;
 import net.stargraph.model.LabeledEntity;
 import net.stargraph.rank.*;
 import org.slf4j.Logger;
@@ -39,21 +45,56 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 public class EntitySearcher {
     private static final int FUZZINESS = 1;
+    private static final int LINK_CANDIDATES = 50;
 
     private Logger logger = LoggerFactory.getLogger(getClass());
     private Marker marker = MarkerFactory.getMarker("elastic");
 
     private Stargraph stargraph;
+    private int fetchChunkSize;
+    private long entityCacheSize;
+    private Map<String, Cache<String, LabeledEntity>> entityCaches;
+    private long linkCacheSize;
+    private Map<String, Cache<String, Optional<Score>>> linkCaches;
+    private SearchResultCache resultCache;
 
     public EntitySearcher(Stargraph stargraph) {
         this.stargraph = stargraph;
+        Config config = stargraph.getMainConfig().getConfig("entity-searcher");
+        this.fetchChunkSize = config.getInt("fetch-chunk-size");
+        this.entityCacheSize = config.getLong("entity-cache.max-size");
+        this.entityCaches = new ConcurrentHashMap<>();
+        this.linkCacheSize = config.getLong("link-cache.max-size");
+        this.linkCaches = new ConcurrentHashMap<>();
+        this.resultCache = createResultCache(config.getConfig("result-cache"));
+    }
+
+    public void setResultCache(SearchResultCache resultCache) {
+        this.resultCache = Objects.requireNonNull(resultCache);
+    }
+
+    public SearchResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Discards everything cached from the given KB. Called by the indexers whenever its data changes.
+     */
+    public void invalidate(KBId kbId) {
+        logger.debug(marker, "Invalidating cached results of {}", kbId);
+        resultCache.invalidate(kbId);
+        if (kbId.getModel().equals(BuiltInModel.ENTITY.modelId)) {
+            entityCaches.remove(kbId.getId());
+            linkCaches.remove(kbId.getId());
+        }
     }
 
     public LabeledEntity getEntity(String dbId, String id) {
@@ -65,13 +106,129 @@ public class EntitySearcher {
     }
 
     public List<LabeledEntity> getEntities(String dbId, List<String> ids) {
-        ModifiableSearchParams searchParams = ModifiableSearchParams.create(dbId).model(BuiltInModel.ENTITY);
-        KBCore core = stargraph.getKBCore(dbId);
+        Map<String, LabeledEntity> entities = getEntitiesById(dbId, ids);
+        return ids.stream().map(entities::get).filter(Objects::nonNull).distinct().collect(Collectors.toList());
+    }
 
-        logger.info(marker, "Fetching ids={}", ids);
+    /**
+     * Resolves the entities of the given ids, either shortened or full URIs.
+     * Entities already seen are served from the cache, the remaining are fetched with as few searches as possible.
+     *
+     * @return Found entities keyed by the requested id. Ids not found are absent.
+     */
+    public Map<String, LabeledEntity> getEntitiesById(String dbId, Collection<String> ids) {
+        KBCore core = stargraph.getKBCore(dbId);
         Namespace ns = core.getNamespace();
-        List<String> idList = ids.stream().map(ns::shrinkURI).collect(Collectors.toList());
+        Cache<String, LabeledEntity> cache = getEntityCache(dbId);
+
+        Map<String, LabeledEntity> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String id : ids) {
+            String shortId = ns.shrinkURI(id);
+            LabeledEntity entity = cache.getIfPresent(shortId);
+            if (entity != null) {
+                found.put(shortId, entity);
+            } else {
+                missing.add(shortId);
+            }
+        }
 
+        if (!missing.isEmpty()) {
+            logger.debug(marker, "Fetching {} ids, {} cached", missing.size(), found.size());
+            List<String> missingList = new ArrayList<>(missing);
+            for (int i = 0; i < missingList.size(); i += fetchChunkSize) {
+                List<String> chunk = missingList.subList(i, Math.min(i + fetchChunkSize, missingList.size()));
+                fetchEntities(core, dbId, chunk).forEach(entity -> {
+                    cache.put(entity.getId(), entity);
+                    found.put(entity.getId(), entity);
+                });
+            }
+        }
+
+        Map<String, LabeledEntity> result = new LinkedHashMap<>();
+        for (String id : ids) {
+            LabeledEntity entity = found.get(ns.shrinkURI(id));
+            if (entity != null) {
+                result.put(id, entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Links each surface form, i.e. a named entity found in a text, to its best matching instance.
+     * Surface forms already seen are served from the cache, the remaining are searched concurrently.
+     *
+     * @return The best scored instance keyed by surface form. Surface forms without any match are absent.
+     */
+    public Map<String, Score> linkInstances(String dbId, Collection<String> surfaceForms) {
+        Cache<String, Optional<Score>> cache = getLinkCache(dbId);
+
+        Map<String, Score> linked = new HashMap<>();
+        Map<String, CompletableFuture<Scores>> searches = new LinkedHashMap<>();
+        for (String surfaceForm : surfaceForms) {
+            Optional<Score> link = cache.getIfPresent(surfaceForm);
+            if (link != null) {
+                link.ifPresent(score -> linked.put(surfaceForm, score));
+            } else if (!searches.containsKey(surfaceForm)) {
+                logger.debug(marker, "Trying to link '{}'", surfaceForm);
+                //TODO: Limit reduce network latency but can hurt precision in some cases
+                ModifiableSearchParams searchParams = ModifiableSearchParams.create(dbId).term(surfaceForm).limit(LINK_CANDIDATES);
+                // Currently, we only care about the highest scored entity.
+                searches.put(surfaceForm, instanceSearchAsync(searchParams, ParamsBuilder.levenshtein().topK(1)));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(searches.values().toArray(new CompletableFuture[0])).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StarGraphException("Interrupted while linking.", e);
+        } catch (ExecutionException e) {
+            throw new StarGraphException("Fail to link.", e.getCause());
+        }
+
+        searches.forEach((surfaceForm, search) -> {
+            Scores scores = search.join();
+            Optional<Score> link = scores.isEmpty() ? Optional.empty() : Optional.of(scores.get(0));
+            cache.put(surfaceForm, link);
+            link.ifPresent(score -> linked.put(surfaceForm, score));
+        });
+
+        logger.debug(marker, "Linked {} of {} surface forms, {} searched", linked.size(), surfaceForms.size(), searches.size());
+        return linked;
+    }
+
+    public CacheStats getLinkCacheStats(String dbId) {
+        return getLinkCache(dbId).stats();
+    }
+
+    public CacheStats getEntityCacheStats(String dbId) {
+        return getEntityCache(dbId).stats();
+    }
+
+    private Cache<String, LabeledEntity> getEntityCache(String dbId) {
+        return entityCaches.computeIfAbsent(dbId,
+                (k) -> CacheBuilder.newBuilder().maximumSize(entityCacheSize).recordStats().build());
+    }
+
+    private Cache<String, Optional<Score>> getLinkCache(String dbId) {
+        return linkCaches.computeIfAbsent(dbId,
+                (k) -> CacheBuilder.newBuilder().maximumSize(linkCacheSize).recordStats().build());
+    }
+
+    private SearchResultCache createResultCache(Config config) {
+        String className = config.getString("class");
+        try {
+            Class<?> cacheClazz = Class.forName(className);
+            return (SearchResultCache) cacheClazz.getConstructor(Config.class).newInstance(config);
+        } catch (Exception e) {
+            throw new StarGraphException("Can't create the result cache '" + className + "'", e);
+        }
+    }
+
+    private List<LabeledEntity> fetchEntities(KBCore core, String dbId, List<String> idList) {
+        ModifiableSearchParams searchParams = ModifiableSearchParams.create(dbId).model(BuiltInModel.ENTITY);
         SearchQueryGenerator searchQueryGenerator = core.getSearchQueryGenerator(searchParams.getKbId().getModel());
         SearchQueryHolder holder = searchQueryGenerator.entitiesWithIds(idList, searchParams);
         Searcher searcher = core.getSearcher(searchParams.getKbId().getModel());
@@ -90,31 +247,67 @@ public class EntitySearcher {
             core.configureDistributionalParams((ModifiableIndraParams) rankParams);
         }
 
-        SearchQueryGenerator searchQueryGenerator = core.getSearchQueryGenerator(searchParams.getKbId().getModel());
-        SearchQueryHolder holder = searchQueryGenerator.findClassFacts(searchParams);
-        Searcher searcher = core.getSearcher(searchParams.getKbId().getModel());
+        SearchResultKey key = new SearchResultKey(searchParams.getKbId(), "class", searchParams.getSearchTerm(),
+                rankParams, null, searchParams.getLimit());
 
-        // Fetch initial candidates from the search engine
-        Scores scores = searcher.search(holder);
+        return resultCache.get(key, () -> {
+            SearchQueryGenerator searchQueryGenerator = core.getSearchQueryGenerator(searchParams.getKbId().getModel());
+            SearchQueryHolder holder = searchQueryGenerator.findClassFacts(searchParams);
+            Searcher searcher = core.getSearcher(searchParams.getKbId().getModel());
+
+            // Fetch initial candidates from the search engine
+            Scores scores = searcher.search(holder);
 
-        List<Score> classes2Score = scores.stream()
-                .map(s -> new Score(((Fact)s.getEntry()).getObject(), s.getValue())).collect(Collectors.toList());
-        // Re-Rank
-        return Rankers.apply(new Scores(classes2Score), rankParams, searchParams.getSearchTerm());
+            List<Score> classes2Score = scores.stream()
+                    .map(s -> new Score(((Fact)s.getEntry()).getObject(), s.getValue())).collect(Collectors.toList());
+            // Re-Rank
+            return Rankers.apply(new Scores(classes2Score), rankParams, searchParams.getSearchTerm());
+        });
     }
 
     public Scores instanceSearch(ModifiableSearchParams searchParams, ModifiableRankParams rankParams) {
         searchParams.model(BuiltInModel.ENTITY);
         KBCore core = stargraph.getKBCore(searchParams.getKbId().getId());
 
+        SearchResultKey key = new SearchResultKey(searchParams.getKbId(), "instance", searchParams.getSearchTerm(),
+                rankParams, null, searchParams.getLimit());
+
+        return resultCache.get(key, () -> {
+            SearchQueryGenerator searchQueryGenerator = core.getSearchQueryGenerator(searchParams.getKbId().getModel());
+            SearchQueryHolder holder = searchQueryGenerator.findEntityInstances(searchParams, FUZZINESS);
+            Searcher searcher = core.getSearcher(searchParams.getKbId().getModel());
+
+            // Fetch initial candidates from the search engine
+            Scores scores = searcher.search(holder);
+            // Re-Rank
+            return Rankers.apply(scores, rankParams, searchParams.getSearchTerm());
+        });
+    }
+
+    /**
+     * Same of {@link #instanceSearch(ModifiableSearchParams, ModifiableRankParams)} without blocking the caller.
+     */
+    public CompletableFuture<Scores> instanceSearchAsync(ModifiableSearchParams searchParams, ModifiableRankParams rankParams) {
+        searchParams.model(BuiltInModel.ENTITY);
+        KBCore core = stargraph.getKBCore(searchParams.getKbId().getId());
+
+        SearchResultKey key = new SearchResultKey(searchParams.getKbId(), "instance", searchParams.getSearchTerm(),
+                rankParams, null, searchParams.getLimit());
+
+        Scores cached = resultCache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
         SearchQueryGenerator searchQueryGenerator = core.getSearchQueryGenerator(searchParams.getKbId().getModel());
         SearchQueryHolder holder = searchQueryGenerator.findEntityInstances(searchParams, FUZZINESS);
         Searcher searcher = core.getSearcher(searchParams.getKbId().getModel());
 
-        // Fetch initial candidates from the search engine
-        Scores scores = searcher.search(holder);
-        // Re-Rank
-        return Rankers.apply(scores, rankParams, searchParams.getSearchTerm());
+        return searcher.searchAsync(holder).thenApply(scores -> {
+            Scores ranked = Rankers.apply(scores, rankParams, searchParams.getSearchTerm());
+            resultCache.put(key, ranked);
+            return ranked;
+        });
     }
 
     public Scores propertySearch(ModifiableSearchParams searchParams, ModifiableRankParams rankParams) {
@@ -125,14 +318,19 @@ public class EntitySearcher {
             core.configureDistributionalParams((ModifiableIndraParams) rankParams);
         }
 
-        SearchQueryGenerator searchQueryGenerator = core.getSearchQueryGenerator(searchParams.getKbId().getModel());
-        SearchQueryHolder holder = searchQueryGenerator.findPropertyInstances(searchParams);
-        Searcher searcher = core.getSearcher(searchParams.getKbId().getModel());
+        SearchResultKey key = new SearchResultKey(searchParams.getKbId(), "property", searchParams.getSearchTerm(),
+                rankParams, null, searchParams.getLimit());
 
-        // Fetch initial candidates from the search engine
-        Scores scores = searcher.search(holder);
-        // Re-Rank
-        return Rankers.apply(scores, rankParams, searchParams.getSearchTerm());
+        return resultCache.get(key, () -> {
+            SearchQueryGenerator searchQueryGenerator = core.getSearchQueryGenerator(searchParams.getKbId().getModel());
+            SearchQueryHolder holder = searchQueryGenerator.findPropertyInstances(searchParams);
+            Searcher searcher = core.getSearcher(searchParams.getKbId().getModel());
+
+            // Fetch initial candidates from the search engine
+            Scores scores = searcher.search(holder);
+            // Re-Rank
+            return Rankers.apply(scores, rankParams, searchParams.getSearchTerm());
+        });
     }
 
     public Scores pivotedSearch(InstanceEntity pivot,
@@ -144,21 +342,26 @@ public class EntitySearcher {
             core.configureDistributionalParams((ModifiableIndraParams) rankParams);
         }
 
-        SearchQueryGenerator searchQueryGenerator = core.getSearchQueryGenerator(searchParams.getKbId().getModel());
-        SearchQueryHolder holder = searchQueryGenerator.findPivotFacts(pivot, searchParams);
-        Searcher searcher = core.getSearcher(searchParams.getKbId().getModel());
+        SearchResultKey key = new SearchResultKey(searchParams.getKbId(), "pivoted", searchParams.getSearchTerm(),
+                rankParams, pivot != null ? pivot.getId() : null, searchParams.getLimit());
 
-        // Fetch initial candidates from the search engine
-        Scores scores = searcher.search(holder);
+        return resultCache.get(key, () -> {
+            SearchQueryGenerator searchQueryGenerator = core.getSearchQueryGenerator(searchParams.getKbId().getModel());
+            SearchQueryHolder holder = searchQueryGenerator.findPivotFacts(pivot, searchParams);
+            Searcher searcher = core.getSearcher(searchParams.getKbId().getModel());
+
+            // Fetch initial candidates from the search engine
+            Scores scores = searcher.search(holder);
 
-        // We have to remap the facts to properties, the real target of the ranker call.
-        // Thus we're discarding the score values from the underlying search engine. Shall we?
-        Scores propScores = new Scores(scores.stream()
-                .map(s -> ((Fact) s.getEntry()).getPredicate())
-                .distinct()
-                .map(p -> new Score(p, 0))
-                .collect(Collectors.toList()));
+            // We have to remap the facts to properties, the real target of the ranker call.
+            // Thus we're discarding the score values from the underlying search engine. Shall we?
+            Scores propScores = new Scores(scores.stream()
+                    .map(s -> ((Fact) s.getEntry()).getPredicate())
+                    .distinct()
+                    .map(p -> new Score(p, 0))
+                    .collect(Collectors.toList()));
 
-        return Rankers.apply(propScores, rankParams, searchParams.getSearchTerm());
+            return Rankers.apply(propScores, rankParams, searchParams.getSearchTerm());
+        });
     }
 }
@@ -0,0 +1,62 @@
+package net.stargraph.core.search;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.model.KBId;
+import net.stargraph.rank.Scores;
+
+import java.util.function.Supplier;
+
+/**
+ * Caches the ranked results of the {@link EntitySearcher}.
+ * Implementations must be thread-safe and are plugged through <code>entity-searcher.result-cache.class</code>.
+ */
+public interface SearchResultCache {
+
+    /**
+     * Returns the cached result for the key or computes, caches and returns it.
+     */
+    Scores get(SearchResultKey key, Supplier<Scores> loader);
+
+    /**
+     * @return The cached result or null. Meant for results computed asynchronously, see {@link #put(SearchResultKey, Scores)}.
+     */
+    Scores getIfPresent(SearchResultKey key);
+
+    void put(SearchResultKey key, Scores scores);
+
+    /**
+     * Discards all results computed on the given KB.
+     */
+    void invalidate(KBId kbId);
+
+    void invalidateAll();
+
+    long getHitCount();
+
+    long getMissCount();
+}
@@ -0,0 +1,119 @@
+package net.stargraph.core.search;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.model.KBId;
+import net.stargraph.rank.ModifiableEmbeddingParams;
+import net.stargraph.rank.ModifiableIndraParams;
+import net.stargraph.rank.ModifiableRankParams;
+import net.stargraph.rank.Threshold;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Identifies a search of the {@link EntitySearcher}: the KB and model searched, the kind of search,
+ * the term and everything else that changes its ranked result.
+ */
+public final class SearchResultKey {
+    private KBId kbId;
+    private String kind;
+    private String term;
+    private List<Object> rankParams;
+    private String pivot;
+    private int limit;
+
+    public SearchResultKey(KBId kbId, String kind, String term, ModifiableRankParams rankParams, String pivot, int limit) {
+        this.kbId = Objects.requireNonNull(kbId);
+        this.kind = Objects.requireNonNull(kind);
+        this.term = term;
+        // Rank params are mutable, the key keeps a snapshot of them.
+        this.rankParams = snapshot(rankParams);
+        this.pivot = pivot;
+        this.limit = limit;
+    }
+
+    public KBId getKbId() {
+        return kbId;
+    }
+
+    /**
+     * Every param that changes the ranking. A shared client of the distributional service does not.
+     */
+    private static List<Object> snapshot(ModifiableRankParams params) {
+        if (params == null) {
+            return Collections.emptyList();
+        }
+
+        Threshold threshold = params.getThreshold();
+        List<Object> values = new ArrayList<>(Arrays.asList(params.getClass(), params.getRankingModel(),
+                threshold != null ? threshold.type : null, threshold != null ? threshold.value : null, params.getTopK()));
+
+        if (params instanceof ModifiableIndraParams) {
+            ModifiableIndraParams indra = (ModifiableIndraParams) params;
+            values.addAll(Arrays.asList(indra.getUrl(), indra.getCorpus(), indra.getLanguage(), indra.getScoreFunction()));
+        }
+        else if (params instanceof ModifiableEmbeddingParams) {
+            values.add(((ModifiableEmbeddingParams) params).getFile());
+        }
+
+        return Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SearchResultKey that = (SearchResultKey) o;
+        return limit == that.limit &&
+                kbId.equals(that.kbId) &&
+                kind.equals(that.kind) &&
+                Objects.equals(term, that.term) &&
+                rankParams.equals(that.rankParams) &&
+                Objects.equals(pivot, that.pivot);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kbId, kind, term, rankParams, pivot, limit);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResultKey{" +
+                "kbId=" + kbId +
+                ", kind='" + kind + '\'' +
+                ", term='" + term + '\'' +
+                ", rankParams=" + rankParams +
+                ", pivot='" + pivot + '\'' +
+                ", limit=" + limit +
+                '}';
+    }
+}
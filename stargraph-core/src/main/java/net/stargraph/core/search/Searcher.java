@@ -28,6 +28,8 @@ package net.stargraph.core.search;
 
 import net.stargraph.rank.Scores;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Definition of a Searcher.
  */
@@ -39,6 +41,11 @@ public interface Searcher {
 
     Scores search(SearchQueryHolder holder);
 
+    /**
+     * Same of {@link #search(SearchQueryHolder)} without blocking the caller, thus many searches can be in flight.
+     */
+    CompletableFuture<Scores> searchAsync(SearchQueryHolder holder);
+
     long countDocuments();
 
 }
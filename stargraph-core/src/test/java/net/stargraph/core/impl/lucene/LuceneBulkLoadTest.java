@@ -0,0 +1,166 @@
+package net.stargraph.core.impl.lucene;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import net.stargraph.StarGraphException;
+import net.stargraph.core.Stargraph;
+import net.stargraph.model.InstanceEntity;
+import net.stargraph.model.KBId;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.LiveIndexWriterConfig;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.store.RAMDirectory;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * Drives the loading hooks of the {@link LuceneIndexer} directly, hence the package of this test.
+ */
+public final class LuceneBulkLoadTest {
+
+    private KBId kbId = KBId.of("obama", "entities");
+    private LuceneIndex index;
+    private LuceneIndexer indexer;
+
+    @AfterMethod
+    public void afterMethod() {
+        indexer.stop();
+    }
+
+    @Test
+    public void writerConfigTest() throws Exception {
+        start("none");
+        LiveIndexWriterConfig writerConfig = index.getWriter().getConfig();
+        double ramBufferMB = writerConfig.getRAMBufferSizeMB();
+        MergePolicy mergePolicy = writerConfig.getMergePolicy();
+
+        indexer.beforeLoad(false);
+        Assert.assertEquals(writerConfig.getRAMBufferSizeMB(), 64d);
+        Assert.assertNotSame(writerConfig.getMergePolicy(), mergePolicy);
+
+        add(0, 10);
+        indexer.afterLoad();
+        Assert.assertEquals(writerConfig.getRAMBufferSizeMB(), ramBufferMB);
+        Assert.assertSame(writerConfig.getMergePolicy(), mergePolicy);
+        Assert.assertEquals(index.getWriter().numDocs(), 10);
+    }
+
+    @Test
+    public void drainBeforeFlushTest() throws Exception {
+        start("none");
+        indexer.beforeLoad(false);
+        add(0, 10);
+        // Still batched, nothing reached the writer.
+        Assert.assertEquals(index.getWriter().numDocs(), 0);
+
+        indexer.doFlush();
+        Assert.assertEquals(index.getWriter().numDocs(), 10);
+        indexer.afterLoad();
+    }
+
+    @Test
+    public void drainBeforeDeleteAllTest() throws Exception {
+        start("none");
+        indexer.beforeLoad(false);
+        add(0, 10);
+        indexer.doDeleteAll();
+        add(10, 5);
+        indexer.afterLoad();
+        Assert.assertEquals(index.getWriter().numDocs(), 5);
+    }
+
+    @Test
+    public void noForceMergeTest() throws Exception {
+        start("none");
+        loadTwoSegments();
+        Assert.assertTrue(countSegments() > 1);
+    }
+
+    @Test
+    public void blockingForceMergeTest() throws Exception {
+        start("blocking");
+        loadTwoSegments();
+        Assert.assertEquals(countSegments(), 1);
+    }
+
+    @Test
+    public void backgroundForceMergeTest() throws Exception {
+        start("background");
+        loadTwoSegments();
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (countSegments() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(countSegments(), 1);
+    }
+
+    @Test(expectedExceptions = StarGraphException.class)
+    public void unknownForceMergeTest() throws Exception {
+        start("always");
+        loadTwoSegments();
+    }
+
+    private void start(String forceMerge) {
+        ConfigFactory.invalidateCaches();
+        Config config = ConfigFactory.parseString("stargraph.kb.obama.model.entities.lucene.bulk " +
+                "{threads = 2, ram-buffer = 64MiB, force-merge = " + forceMerge + "}")
+                .withFallback(ConfigFactory.load()).getConfig("stargraph");
+        index = new LuceneIndex(kbId, new RAMDirectory(), 1000);
+        indexer = new LuceneIndexer(kbId, new Stargraph(config, false), index);
+        indexer.start();
+    }
+
+    private void add(int first, int count) throws InterruptedException {
+        for (int i = first; i < first + count; i++) {
+            indexer.doIndex(new InstanceEntity("dbr:E" + i, "Entity " + i), kbId);
+        }
+    }
+
+    /**
+     * Loads more than a batch, with a checkpoint in the middle that commits the first segment.
+     */
+    private void loadTwoSegments() throws InterruptedException {
+        indexer.beforeLoad(false);
+        add(0, 1500);
+        indexer.onCheckpoint();
+        add(1500, 1500);
+        indexer.afterLoad();
+        Assert.assertEquals(index.getWriter().numDocs(), 3000);
+    }
+
+    private int countSegments() throws IOException {
+        try (DirectoryReader reader = DirectoryReader.open(index.getWriter())) {
+            return reader.leaves().size();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package net.stargraph.test;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.core.Stargraph;
+import net.stargraph.core.search.SearchQueryHolder;
+import net.stargraph.core.search.Searcher;
+import net.stargraph.model.BuiltInModel;
+import net.stargraph.model.KBId;
+import net.stargraph.rank.ModifiableSearchParams;
+import net.stargraph.rank.Scores;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public final class AsyncSearchTest {
+
+    private KBId kbId = KBId.of("obama", "entities");
+    private Stargraph stargraph;
+
+    @BeforeClass
+    public void beforeClass() {
+        this.stargraph = TestUtils.createObamaStargraph();
+    }
+
+    @Test
+    public void asyncSearchTest() throws Exception {
+        ModifiableSearchParams searchParams = ModifiableSearchParams.create(kbId.getId()).model(BuiltInModel.ENTITY).term("Obama");
+        SearchQueryHolder holder = stargraph.getKBCore(kbId.getId()).getSearchQueryGenerator(kbId.getModel())
+                .findEntityInstances(searchParams, 1);
+        Searcher searcher = stargraph.getSearcher(kbId);
+        Scores expected = searcher.search(holder);
+        Assert.assertFalse(expected.isEmpty());
+        Assert.assertEquals(searcher.searchAsync(holder).get(), expected);
+    }
+}
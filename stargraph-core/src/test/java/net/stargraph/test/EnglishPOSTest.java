@@ -37,6 +37,7 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -154,6 +155,17 @@ public final class EnglishPOSTest {
                 "Which/WDT awards/NNS did/VBD Douglas/NNP Hofstadter/NNP win/VB ?/.");
     }
 
+    @Test
+    public void batchTest() {
+        List<List<Word>> annotated = annotator.run(Language.EN,
+                Arrays.asList("Who is the wife of Barack Obama?", "Which awards did Douglas Hofstadter win?"));
+        Assert.assertEquals(annotated.size(), 2);
+        Assert.assertEquals(annotated.get(0).stream().map(Word::toString).collect(Collectors.joining(" ")),
+                annotate("Who is the wife of Barack Obama?"));
+        Assert.assertEquals(annotated.get(1).stream().map(Word::toString).collect(Collectors.joining(" ")),
+                "Which/WDT awards/NNS did/VBD Douglas/NNP Hofstadter/NNP win/VB ?/.");
+    }
+
     private String annotate(String sentence) {
         List<Word> words = annotator.run(Language.EN, sentence);
         return words.stream().map(Word::toString).collect(Collectors.joining(" "));
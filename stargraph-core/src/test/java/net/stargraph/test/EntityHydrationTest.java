@@ -0,0 +1,65 @@
+package net.stargraph.test;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.core.Stargraph;
+import net.stargraph.core.search.EntitySearcher;
+import net.stargraph.model.KBId;
+import net.stargraph.model.LabeledEntity;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+public final class EntityHydrationTest {
+
+    private KBId kbId = KBId.of("obama", "entities");
+    private Stargraph stargraph;
+
+    @BeforeClass
+    public void beforeClass() {
+        this.stargraph = TestUtils.createObamaStargraph();
+    }
+
+    @Test
+    public void getEntitiesByIdTest() {
+        EntitySearcher entitySearcher = stargraph.getEntitySearcher();
+        List<String> ids = Arrays.asList("dbr:Barack_Obama", "http://dbpedia.org/resource/Michelle_Obama", "dbr:Unknown_Entity");
+        Map<String, LabeledEntity> entities = entitySearcher.getEntitiesById(kbId.getId(), ids);
+        Assert.assertEquals(entities.keySet(), new HashSet<>(ids.subList(0, 2)));
+        Assert.assertEquals(entities.get("dbr:Barack_Obama").getId(), "dbr:Barack_Obama");
+        Assert.assertEquals(entities.get("http://dbpedia.org/resource/Michelle_Obama").getId(), "dbr:Michelle_Obama");
+
+        long hits = entitySearcher.getEntityCacheStats(kbId.getId()).hitCount();
+        Assert.assertEquals(entitySearcher.getEntity(kbId.getId(), "http://dbpedia.org/resource/Barack_Obama"), entities.get("dbr:Barack_Obama"));
+        Assert.assertEquals(entitySearcher.getEntityCacheStats(kbId.getId()).hitCount(), hits + 1);
+    }
+}
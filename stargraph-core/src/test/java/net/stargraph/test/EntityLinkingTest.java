@@ -0,0 +1,68 @@
+package net.stargraph.test;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.ModelUtils;
+import net.stargraph.core.Stargraph;
+import net.stargraph.core.search.EntitySearcher;
+import net.stargraph.model.KBId;
+import net.stargraph.rank.Score;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+public final class EntityLinkingTest {
+
+    private KBId kbId = KBId.of("obama", "entities");
+    private Stargraph stargraph;
+
+    @BeforeClass
+    public void beforeClass() {
+        this.stargraph = TestUtils.createObamaStargraph();
+    }
+
+    @Test
+    public void linkInstancesTest() {
+        EntitySearcher entitySearcher = stargraph.getEntitySearcher();
+        List<String> surfaceForms = Arrays.asList("Barack Obama", "Michelle Obama", "Barack Obama", "Qwzxv Jklmn");
+
+        Map<String, Score> links = entitySearcher.linkInstances(kbId.getId(), surfaceForms);
+        Assert.assertEquals(links.keySet(), new HashSet<>(surfaceForms.subList(0, 2)));
+        Assert.assertEquals(links.get("Barack Obama").getEntry(), ModelUtils.createInstance("dbr:Barack_Obama"));
+        Assert.assertEquals(links.get("Michelle Obama").getEntry(), ModelUtils.createInstance("dbr:Michelle_Obama"));
+
+        // Misses are cached as well.
+        long hits = entitySearcher.getLinkCacheStats(kbId.getId()).hitCount();
+        Assert.assertEquals(entitySearcher.linkInstances(kbId.getId(), surfaceForms), links);
+        Assert.assertEquals(entitySearcher.getLinkCacheStats(kbId.getId()).hitCount(), hits + 4);
+    }
+}
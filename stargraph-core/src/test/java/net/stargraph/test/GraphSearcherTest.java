@@ -0,0 +1,175 @@
+package net.stargraph.test;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.ModelUtils;
+import net.stargraph.core.Stargraph;
+import net.stargraph.core.graph.CandidatePattern;
+import net.stargraph.core.graph.GraphSearcher;
+import net.stargraph.core.graph.SelectCursor;
+import net.stargraph.core.graph.SelectPage;
+import net.stargraph.model.KBId;
+import net.stargraph.model.LabeledEntity;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.rdfhdt.hdtjena.HDTGraph;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+public final class GraphSearcherTest {
+
+    private KBId kbId = KBId.of("obama", "entities");
+    private Stargraph stargraph;
+
+    @BeforeClass
+    public void beforeClass() {
+        this.stargraph = TestUtils.createObamaStargraph();
+    }
+
+    @Test
+    public void selectHydrationTest() {
+        GraphSearcher graphSearcher = stargraph.getKBCore(kbId.getId()).createGraphSearcher();
+        Map<String, List<LabeledEntity>> result = graphSearcher.select(
+                "SELECT ?x WHERE { <http://dbpedia.org/resource/Barack_Obama> <http://dbpedia.org/property/vicepresident> ?x }");
+        Assert.assertEquals(result.get("x"), Collections.singletonList(ModelUtils.createInstance("dbr:Joe_Biden")));
+    }
+
+    @Test
+    public void selectPagingTest() {
+        GraphSearcher graphSearcher = stargraph.getKBCore(kbId.getId()).createGraphSearcher();
+        String query = "SELECT ?x WHERE { <http://dbpedia.org/resource/Barack_Obama> <http://dbpedia.org/property/predecessor> ?x }";
+        List<LabeledEntity> all = graphSearcher.select(query).get("x");
+        Assert.assertTrue(all.size() > 1);
+
+        try (SelectCursor cursor = graphSearcher.select(query, 1, 1)) {
+            Assert.assertTrue(cursor.hasNext());
+            Assert.assertEquals(cursor.next().get("x"), all.get(1));
+            Assert.assertFalse(cursor.hasNext());
+        }
+
+        // Paging a parsed query must not change it.
+        Query parsed = QueryFactory.create(query);
+        try (SelectCursor cursor = graphSearcher.select(parsed, 1, 1)) {
+            Assert.assertEquals(cursor.next().get("x"), all.get(1));
+        }
+        Assert.assertFalse(parsed.hasOffset());
+        Assert.assertFalse(parsed.hasLimit());
+        Assert.assertEquals(graphSearcher.select(parsed).get("x"), all);
+
+        List<LabeledEntity> paged = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            SelectPage page = SelectPage.fetch(graphSearcher, query, cursor, 1);
+            page.getRows().forEach(row -> paged.add(row.get("x")));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        Assert.assertEquals(paged, all);
+        Assert.assertEquals(pages, all.size());
+    }
+
+    @Test
+    public void askTest() {
+        GraphSearcher graphSearcher = stargraph.getKBCore(kbId.getId()).createGraphSearcher();
+        HDTGraph graph = (HDTGraph) stargraph.getKBCore(kbId.getId()).getGraphModel().getGraph();
+        long searches = graph.getNumSearches();
+
+        Assert.assertTrue(graphSearcher.ask("ASK { <http://dbpedia.org/resource/Barack_Obama> <http://dbpedia.org/property/vicepresident> <http://dbpedia.org/resource/Joe_Biden> }"));
+        Assert.assertTrue(graphSearcher.ask("ASK { { <http://dbpedia.org/resource/Barack_Obama> ?p <http://dbpedia.org/resource/Joe_Biden> } }"));
+        Assert.assertFalse(graphSearcher.ask("ASK { <http://dbpedia.org/resource/Joe_Biden> <http://dbpedia.org/property/vicepresident> <http://dbpedia.org/resource/Barack_Obama> }"));
+        Assert.assertFalse(graphSearcher.ask("ASK { <http://dbpedia.org/resource/Barack_Obama> <http://dbpedia.org/property/unknown> ?x }"));
+        // Single patterns never reach the SPARQL engine.
+        Assert.assertEquals(graph.getNumSearches(), searches);
+
+        Assert.assertTrue(graphSearcher.ask("ASK { <http://dbpedia.org/resource/Barack_Obama> ?p ?x . ?x ?q <http://dbpedia.org/resource/Barack_Obama> }"));
+        Assert.assertFalse(graphSearcher.ask("ASK { ?x <http://dbpedia.org/property/vicepresident> ?x }"));
+    }
+
+    @Test
+    public void directExecutionTest() {
+        GraphSearcher graphSearcher = stargraph.getKBCore(kbId.getId()).createGraphSearcher();
+        final String dbr = "http://dbpedia.org/resource/";
+        final String dbp = "http://dbpedia.org/property/";
+        final String type = "http://www.w3.org/1999/02/22-rdf-syntax-ns#type";
+
+        // Join on the subject, with unions of candidates.
+        List<CandidatePattern> unions = Arrays.asList(
+                new CandidatePattern(Collections.singletonList("?VAR_1"), Arrays.asList(dbp + "president", dbp + "appointer"), Collections.singletonList(dbr + "Barack_Obama")),
+                new CandidatePattern(Collections.singletonList("?VAR_1"), Collections.singletonList(type),
+                        Arrays.asList("http://dbpedia.org/class/yago/UnitedStatesDistrictCourtJudgesAppointedByBarackObama", "http://dbpedia.org/ontology/Sound")));
+        String join = "SELECT * WHERE {\n" +
+                "{ {?VAR_1 <" + dbp + "president> <" + dbr + "Barack_Obama>} UNION {?VAR_1 <" + dbp + "appointer> <" + dbr + "Barack_Obama>} }\n" +
+                "{ {?VAR_1 <" + type + "> <http://dbpedia.org/class/yago/UnitedStatesDistrictCourtJudgesAppointedByBarackObama>} UNION " +
+                "{?VAR_1 <" + type + "> <http://dbpedia.org/ontology/Sound>} }\n}";
+        Map<String, List<LabeledEntity>> joined = graphSearcher.select(unions);
+        Assert.assertFalse(joined.isEmpty());
+        Assert.assertEquals(toRows(joined), toRows(graphSearcher.select(join)));
+
+        List<List<CandidatePattern>> queries = Arrays.asList(
+                // Object of one pattern is the subject of the other.
+                Arrays.asList(
+                        new CandidatePattern(Collections.singletonList(dbr + "Barack_Obama"), Collections.singletonList(dbp + "vicepresident"), Collections.singletonList("?VAR_1")),
+                        new CandidatePattern(Collections.singletonList("?VAR_1"), Collections.singletonList("?VAR_2"), Collections.singletonList("?VAR_3"))),
+                // Unknown candidates are ignored, no candidate at all means no answer.
+                Collections.singletonList(
+                        new CandidatePattern(Collections.singletonList("?VAR_1"), Arrays.asList(dbp + "unknown", dbp + "successor"), Collections.singletonList("?VAR_2"))),
+                Collections.singletonList(
+                        new CandidatePattern(Collections.singletonList("?VAR_1"), Collections.singletonList(dbp + "unknown"), Collections.singletonList("?VAR_2"))));
+
+        for (List<CandidatePattern> patterns : queries) {
+            Map<String, List<LabeledEntity>> direct = graphSearcher.select(patterns);
+            Map<String, List<LabeledEntity>> sparql = graphSearcher.select(CandidatePattern.toSPARQL(patterns));
+            Assert.assertEquals(toRows(direct), toRows(sparql), patterns.toString());
+        }
+    }
+
+    private static List<String> toRows(Map<String, List<LabeledEntity>> result) {
+        List<String> rows = new ArrayList<>();
+        List<String> vars = new ArrayList<>(new TreeSet<>(result.keySet()));
+        int size = vars.isEmpty() ? 0 : result.get(vars.get(0)).size();
+        for (int i = 0; i < size; i++) {
+            StringJoiner row = new StringJoiner(" ");
+            for (String var : vars) {
+                row.add(var + "=" + result.get(var).get(i));
+            }
+            rows.add(row.toString());
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+}
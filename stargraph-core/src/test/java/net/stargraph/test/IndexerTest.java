@@ -27,6 +27,7 @@ package net.stargraph.test;
  */
 
 import com.typesafe.config.Config;
+import com.google.common.io.Files;
 import com.typesafe.config.ConfigFactory;
 import net.stargraph.core.Stargraph;
 import net.stargraph.core.index.Indexer;
@@ -38,6 +39,7 @@ import org.testng.annotations.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -54,6 +56,7 @@ public final class IndexerTest {
         Config config = ConfigFactory.load().getConfig("stargraph");
         this.stargraph = new Stargraph(config, false);
         this.stargraph.setKBInitSet(kbId.getId());
+        this.stargraph.setDataRootDir(Files.createTempDir());
         this.stargraph.setDefaultIndicesFactory(new TestDataIndexer.Factory());
         this.stargraph.initialize();
         this.indexer = stargraph.getIndexer(kbId);
@@ -130,4 +133,31 @@ public final class IndexerTest {
                 Collections.singletonList(new TestData(false, false, "first")));
     }
 
+    @Test(timeOut = 15000)
+    public void parallelLoadTest() throws Exception {
+        Indexer parallelIndexer = stargraph.getIndexer(KBId.of("mytest", "myparalleltype"));
+        parallelIndexer.load(true, -1);
+        parallelIndexer.awaitLoader();
+        List<TestData> indexed = ((TestDataIndexer) parallelIndexer).getIndexed();
+        // Order is not preserved with more than one worker.
+        Assert.assertEquals(indexed.size(), expected.size());
+        Assert.assertEquals(new HashSet<>(indexed), new HashSet<>(expected));
+    }
+
+    @Test(timeOut = 15000)
+    public void resumeLoadingTest() throws Exception {
+        Indexer resumableIndexer = stargraph.getIndexer(KBId.of("mytest", "myresumabletype"));
+        resumableIndexer.load(true, 4);
+        resumableIndexer.awaitLoader();
+        Assert.assertEquals(((TestDataIndexer) resumableIndexer).getIndexed(), expected.subList(0, 2));
+        // Resuming keeps what was already loaded.
+        resumableIndexer.load(true, -1, true);
+        resumableIndexer.awaitLoader();
+        Assert.assertEquals(((TestDataIndexer) resumableIndexer).getIndexed(), expected);
+        // Loading is complete, nothing to resume.
+        resumableIndexer.load(true, -1, true);
+        resumableIndexer.awaitLoader();
+        Assert.assertEquals(((TestDataIndexer) resumableIndexer).getIndexed(), expected);
+    }
+
 }
@@ -28,26 +28,55 @@ package net.stargraph.test;
 
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import net.stargraph.ModelUtils;
 import net.stargraph.core.Stargraph;
+import net.stargraph.core.impl.lucene.LuceneQueryHolder;
+import net.stargraph.core.impl.lucene.LuceneScroller;
 import net.stargraph.core.index.Indexer;
+import net.stargraph.core.search.EntitySearcher;
+import net.stargraph.core.search.SearchQueryHolder;
 import net.stargraph.core.search.Searcher;
-import net.stargraph.model.KBId;
+import net.stargraph.data.Indexable;
+import net.stargraph.model.*;
+import net.stargraph.model.Document;
+import net.stargraph.model.wordnet.PosType;
+import net.stargraph.model.wordnet.WNTuple;
+import net.stargraph.rank.ModifiableSearchParams;
+import net.stargraph.rank.ParamsBuilder;
+import net.stargraph.rank.Score;
+import net.stargraph.rank.Scores;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.*;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.BytesRef;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.util.*;
 
 public final class LuceneIndexerTest {
 
     private KBId kbId = KBId.of("obama", "entities"); // Entities uses Lucene. See reference.conf.
     private Stargraph stargraph;
 
-
     @BeforeClass
     public void beforeClass() {
         ConfigFactory.invalidateCaches();
-        Config config = ConfigFactory.load().getConfig("stargraph");
+        // Facts, relations and documents are also served by Lucene here.
+        Config config = ConfigFactory.parseString(
+                "stargraph.kb.obama.model.facts.index-store.factory.class = net.stargraph.core.impl.lucene.LuceneFactory\n" +
+                "stargraph.kb.obama.model.relations.index-store.factory.class = net.stargraph.core.impl.lucene.LuceneFactory\n" +
+                "stargraph.kb.obama.model.relations.processors = []\n" +
+                "stargraph.kb.obama.model.documents.index-store.factory.class = net.stargraph.core.impl.lucene.LuceneFactory\n" +
+                "stargraph.kb.obama.model.documents.processors = []")
+                .withFallback(ConfigFactory.load()).getConfig("stargraph");
         File dataRootDir = TestUtils.prepareObamaTestEnv().toFile();
         this.stargraph = new Stargraph(config, false);
         stargraph.setKBInitSet(kbId.getId());
@@ -55,7 +84,6 @@ public final class LuceneIndexerTest {
         this.stargraph.initialize();
     }
 
-
     @Test
     public void bulkLoadTest() throws Exception {
         Indexer indexer = stargraph.getIndexer(kbId);
@@ -64,4 +92,124 @@ public final class LuceneIndexerTest {
         Searcher searcher = stargraph.getSearcher(kbId);
         Assert.assertEquals(searcher.countDocuments(), 756);
     }
+
+    @Test(dependsOnMethods = "bulkLoadTest")
+    public void nearRealTimeSearchTest() throws Exception {
+        Searcher searcher = stargraph.getSearcher(kbId);
+        long count = searcher.countDocuments();
+        stargraph.getIndexer(kbId).index(new Indexable(new InstanceEntity("dbr:Stargraph_NRT", "Stargraph NRT"), kbId));
+
+        // No flush nor commit, the background refresh must expose it.
+        long deadline = System.currentTimeMillis() + 10000;
+        while (searcher.countDocuments() == count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(searcher.countDocuments(), count + 1);
+    }
+
+    @Test
+    public void scrollerPagingTest() throws Exception {
+        try (Directory dir = new RAMDirectory(); IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig())) {
+            for (int i = 0; i < 25; i++) {
+                org.apache.lucene.document.Document doc = new org.apache.lucene.document.Document();
+                doc.add(new StringField("id", "dbr:E" + i, Field.Store.YES));
+                doc.add(new TextField("value", "entity " + i, Field.Store.YES));
+                if (i % 2 == 0) {
+                    doc.add(new BinaryDocValuesField("id", new BytesRef("dbr:E" + i)));
+                    doc.add(new BinaryDocValuesField("value", new BytesRef("entity " + i)));
+                }
+                writer.addDocument(doc);
+                if (i % 5 == 4) {
+                    writer.commit(); // mixes segments with and without DocValues.
+                }
+            }
+
+            try (IndexReader reader = DirectoryReader.open(writer)) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                Query query = new TermQuery(new Term("value", "entity"));
+                Set<String> all = new HashSet<>();
+                for (int i = 0; i < 25; i++) {
+                    all.add("dbr:E" + i);
+                }
+
+                Assert.assertEquals(scroll(searcher, query, -1, 7), all);
+                Assert.assertEquals(scroll(searcher, query, -1, 25), all);
+                Assert.assertEquals(scroll(searcher, query, 10, 3).size(), 10);
+            }
+        }
+    }
+
+    private static Set<String> scroll(IndexSearcher searcher, Query query, int limit, int pageSize) {
+        ModifiableSearchParams params = ModifiableSearchParams.create("obama").limit(limit);
+        LuceneScroller scroller = new LuceneScroller(searcher, new LuceneQueryHolder(query, params), pageSize, "id", "value") {
+            @Override
+            protected Score build(org.apache.lucene.document.Document hitDoc, ScoreDoc hit) {
+                Assert.assertNull(hitDoc.get("other"));
+                Assert.assertEquals(hitDoc.get("value"), "entity " + hitDoc.get("id").substring(5));
+                return new Score(new InstanceEntity(hitDoc.get("id"), hitDoc.get("value")), hit.score);
+            }
+        };
+        Set<String> ids = new HashSet<>();
+        scroller.forEach(score -> Assert.assertTrue(ids.add(((InstanceEntity) score.getEntry()).getId())));
+        return ids;
+    }
+
+    @Test
+    public void factsTest() throws Exception {
+        KBId factsId = KBId.of(kbId.getId(), "facts");
+        Indexer indexer = stargraph.getIndexer(factsId);
+        indexer.load(true, -1);
+        indexer.awaitLoader();
+        Assert.assertTrue(stargraph.getSearcher(factsId).countDocuments() > 0);
+
+        EntitySearcher entitySearcher = stargraph.getEntitySearcher();
+        Scores properties = entitySearcher.pivotedSearch(ModelUtils.createInstance("dbr:Barack_Obama"),
+                ModifiableSearchParams.create(kbId.getId()).term("vice president"), ParamsBuilder.levenshtein());
+        Assert.assertEquals(properties.get(0).getEntry(), new PropertyEntity("dbp:vicepresident", "vicepresident"));
+
+        Scores classes = entitySearcher.classSearch(ModifiableSearchParams.create(kbId.getId()).term("judges"), ParamsBuilder.levenshtein());
+        Assert.assertFalse(classes.isEmpty());
+        Assert.assertEquals(((LabeledEntity) classes.get(0).getEntry()).getId(), "yago:UnitedStatesFederalJudgesAppointedByBarackObama");
+    }
+
+    @Test
+    public void relationsTest() throws Exception {
+        KBId relationsId = KBId.of(kbId.getId(), "relations");
+        PropertyEntity spouse = new PropertyEntity("dbp:spouse", "spouse", null, null,
+                Arrays.asList(new WNTuple(PosType.NOUN, "partner"), new WNTuple(PosType.NOUN, "wife")));
+        Indexer indexer = stargraph.getIndexer(relationsId);
+        indexer.index(new Indexable(spouse, relationsId));
+        indexer.index(new Indexable(new PropertyEntity("dbp:birthPlace", "birth place"), relationsId));
+        indexer.flush();
+
+        // Searching directly, the re-ranking would compare "partners" with "spouse".
+        ModifiableSearchParams searchParams = ModifiableSearchParams.create(kbId.getId()).model(BuiltInModel.PROPERTY).term("partners");
+        SearchQueryHolder holder = stargraph.getKBCore(kbId.getId()).getSearchQueryGenerator(relationsId.getModel())
+                .findPropertyInstances(searchParams);
+        Scores scores = stargraph.getSearcher(relationsId).search(holder);
+        Assert.assertEquals(scores.size(), 1);
+        PropertyEntity found = (PropertyEntity) scores.get(0).getEntry();
+        Assert.assertEquals(found, spouse);
+    }
+
+    @Test
+    public void documentsTest() throws Exception {
+        KBId documentsId = KBId.of(kbId.getId(), "documents");
+        Document document = new Document("doc:obama", "Barack Obama", null, "Obama was the 44th president.",
+                Collections.singletonList(new Passage("Obama was the 44th president.",
+                        Collections.singletonList(ModelUtils.createInstance("dbr:Barack_Obama")))));
+        Indexer indexer = stargraph.getIndexer(documentsId);
+        indexer.index(new Indexable(document, documentsId));
+        indexer.flush();
+
+        ModifiableSearchParams searchParams = ModifiableSearchParams.create(kbId.getId()).model(BuiltInModel.DOCUMENT);
+        SearchQueryHolder holder = stargraph.getKBCore(kbId.getId()).getSearchQueryGenerator(documentsId.getModel())
+                .entitiesWithIds(Collections.singletonList("doc:obama"), searchParams);
+        Scores scores = stargraph.getSearcher(documentsId).search(holder);
+        Assert.assertEquals(scores.size(), 1);
+        Document found = (Document) scores.get(0).getEntry();
+        Assert.assertEquals(found.getText(), document.getText());
+        Assert.assertEquals(found.getPassages().get(0).getEntities(), document.getPassages().get(0).getEntities());
+    }
+
 }
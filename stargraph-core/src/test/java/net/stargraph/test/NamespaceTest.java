@@ -59,4 +59,33 @@ public final class NamespaceTest {
         Assert.assertFalse(ns.isFromMainNS(uri));
     }
 
+    @Test
+    public void shrinkLongestPrefixTest() {
+        Assert.assertEquals(ns.shrinkURI("http://dbpedia.org/resource/Barack_Obama"), "dbr:Barack_Obama");
+        Assert.assertEquals(ns.shrinkURI("http://dbpedia.org/resource/Category:ABC"), "dbc:ABC");
+        Assert.assertEquals(ns.shrinkURI("http://dbpedia.org/ontology/spouse"), "dbo:spouse");
+        Assert.assertEquals(ns.shrinkURI("http://unknown.org/x"), "http://unknown.org/x");
+    }
+
+    @Test
+    public void expandTest() {
+        Assert.assertEquals(ns.expandURI("dbr:Barack_Obama"), "http://dbpedia.org/resource/Barack_Obama");
+        Assert.assertEquals(ns.expandURI("dbc:ABC"), "http://dbpedia.org/resource/Category:ABC");
+        Assert.assertEquals(ns.expandURI("unknown:x"), "unknown:x");
+    }
+
+    @Test
+    public void roundTripTest() {
+        String uri = "http://dbpedia.org/resource/Template:Infobox";
+        Assert.assertEquals(ns.expandURI(ns.shrinkURI(uri)), uri);
+    }
+
+    @Test
+    public void cacheStatsTest() {
+        long hits = ns.getShrinkCacheStats().hitCount();
+        ns.shrinkURI("http://dbpedia.org/resource/Michelle_Obama");
+        ns.shrinkURI("http://dbpedia.org/resource/Michelle_Obama");
+        Assert.assertEquals(ns.getShrinkCacheStats().hitCount(), hits + 1);
+    }
+
 }
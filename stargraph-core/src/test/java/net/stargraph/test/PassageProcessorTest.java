@@ -0,0 +1,110 @@
+package net.stargraph.test;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+import net.stargraph.core.Stargraph;
+import net.stargraph.core.index.Indexer;
+import net.stargraph.core.processors.PassageProcessor;
+import net.stargraph.data.Indexable;
+import net.stargraph.data.processor.Holder;
+import net.stargraph.data.processor.ProcessorException;
+import net.stargraph.model.Document;
+import net.stargraph.model.KBId;
+import net.stargraph.model.Passage;
+import org.lambda3.text.simplification.discourse.utils.sentences.SentencesUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@SuppressWarnings("unchecked")
+public final class PassageProcessorTest {
+
+    private KBId kbId = KBId.of("obama", "documents");
+    private String text = "Barack Obama was born in Hawaii. He was the president of the United States. " +
+            "Michelle Obama is his wife. They have two daughters. Joe Biden was his vice president.";
+    private Stargraph stargraph;
+    private PassageProcessor processor;
+
+    @BeforeClass
+    public void beforeClass() throws Exception {
+        // Entities of the obama KB are linked against the obama KB itself, not dbpedia-2016.
+        ConfigFactory.invalidateCaches();
+        Config config = ConfigFactory.parseString("stargraph.kb.obama.ner-kb = obama")
+                .withFallback(ConfigFactory.load()).getConfig("stargraph");
+        stargraph = new Stargraph(config, false);
+        stargraph.setKBInitSet(kbId.getId());
+        stargraph.setDataRootDir(TestUtils.prepareObamaTestEnv().toFile());
+        stargraph.initialize();
+        Indexer indexer = stargraph.getIndexer(KBId.of("obama", "entities"));
+        indexer.load(true, -1);
+        indexer.awaitLoader();
+        processor = createProcessor(stargraph);
+    }
+
+    @AfterClass
+    public void afterClass() {
+        processor.close();
+    }
+
+    @Test
+    public void sentenceOrderTest() {
+        Holder holder = new Indexable(new Document("obama.txt", "Obama", text), kbId);
+        processor.run(holder);
+
+        List<Passage> passages = ((Document) holder.get()).getPassages();
+        Assert.assertEquals(passages.stream().map(Passage::getText).collect(Collectors.toList()),
+                SentencesUtils.splitIntoSentences(text));
+        Assert.assertFalse(passages.get(0).getEntities().isEmpty());
+    }
+
+    @Test
+    public void failingSentenceTest() {
+        // Default configuration links against dbpedia-2016, which is not loaded.
+        PassageProcessor failing = createProcessor(TestUtils.createObamaStargraph());
+        try {
+            failing.run(new Indexable(new Document("obama.txt", "Obama", text), kbId));
+            Assert.fail("Passages were created without linking.");
+        } catch (ProcessorException e) {
+            Assert.assertEquals(e.getCause().getMessage(), "Fail to create the passages of obama.txt");
+        } finally {
+            failing.close();
+        }
+    }
+
+    private static PassageProcessor createProcessor(Stargraph stargraph) {
+        Config config = ConfigFactory.load().getConfig("processor").withOnlyPath(PassageProcessor.name)
+                .withValue(PassageProcessor.name + ".threads", ConfigValueFactory.fromAnyRef(4));
+        return new PassageProcessor(stargraph, config);
+    }
+}
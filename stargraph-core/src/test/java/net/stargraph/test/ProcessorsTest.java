@@ -28,9 +28,11 @@ package net.stargraph.test;
 
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
 import net.stargraph.ModelUtils;
 import net.stargraph.core.processors.CoreferenceResolutionProcessor;
 import net.stargraph.core.processors.Processors;
+import net.stargraph.core.processors.SinkDuplicateProcessor;
 import net.stargraph.data.Indexable;
 import net.stargraph.data.processor.FatalProcessorException;
 import net.stargraph.data.processor.Holder;
@@ -41,6 +43,8 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 
 @SuppressWarnings("unchecked")
@@ -91,6 +95,40 @@ public final class ProcessorsTest {
         Assert.assertTrue(holder.isSinkable());
     }
 
+    @Test
+    public void exactDuplicateProcessorTest() {
+        KBId kbId = KBId.of("obama", "facts");
+        SinkDuplicateProcessor processor = createExactDuplicateProcessor();
+
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 5000; i++) {
+                Holder holder = new Indexable(ModelUtils.createProperty("http://dbpedia.org/property/p" + i), kbId);
+                processor.run(holder);
+                Assert.assertEquals(holder.isSinkable(), round > 0);
+            }
+        }
+
+        Assert.assertEquals(processor.getDuplicates(), 5000);
+    }
+
+    @Test
+    public void duplicateProcessorStateTest() throws Exception {
+        KBId kbId = KBId.of("obama", "facts");
+        PropertyEntity prop = ModelUtils.createProperty("http://dbpedia.org/property/president");
+        SinkDuplicateProcessor processor = createExactDuplicateProcessor();
+        processor.run(new Indexable(prop, kbId));
+
+        ByteArrayOutputStream state = new ByteArrayOutputStream();
+        processor.writeState(state);
+        SinkDuplicateProcessor restored = createExactDuplicateProcessor();
+        restored.readState(new ByteArrayInputStream(state.toByteArray()));
+
+        Holder holder = new Indexable(prop, kbId);
+        restored.run(holder);
+        Assert.assertTrue(holder.isSinkable());
+        Assert.assertEquals(restored.getFalsePositives(), 0);
+    }
+
     @Test(expectedExceptions = FatalProcessorException.class)
     public void unrecoverableErrorProcessorTest() {
         KBId kbId = KBId.of("any", "type");
@@ -100,4 +138,10 @@ public final class ProcessorsTest {
         Assert.assertFalse(holder.isSinkable());
     }
 
+    private SinkDuplicateProcessor createExactDuplicateProcessor() {
+        Config exactCfg = config.withOnlyPath("sink-duplicate")
+                .withValue("sink-duplicate.mode", ConfigValueFactory.fromAnyRef("exact"))
+                .withValue("sink-duplicate.expected-entries", ConfigValueFactory.fromAnyRef(1000));
+        return (SinkDuplicateProcessor) Processors.create(exactCfg);
+    }
 }
@@ -0,0 +1,100 @@
+package net.stargraph.test;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import net.stargraph.StarGraphException;
+import net.stargraph.core.impl.corenlp.CoreNLPAnnotatorFactory;
+import net.stargraph.core.query.Analyzers;
+import net.stargraph.core.query.Rules;
+import net.stargraph.core.query.SPARQLQueryBuilder;
+import net.stargraph.core.query.nli.QuestionAnalysis;
+import net.stargraph.core.query.nli.QuestionAnalyzer;
+import net.stargraph.query.Language;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public final class QuestionAnalyzerCacheTest {
+
+    private QuestionAnalyzer analyzer;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        Config config = ConfigFactory.parseString("annotator.factory.class="
+                + CoreNLPAnnotatorFactory.class.getCanonicalName())
+                .withFallback(ConfigFactory.load().getConfig("stargraph"));
+        analyzer = new QuestionAnalyzer(Language.EN, Analyzers.createAnnotatorFactory(config).create(), new Rules(config), 10);
+    }
+
+    @Test
+    public void repeatedQuestionTest() {
+        QuestionAnalysis first = analyzer.analyse("Who is the wife of Barack Obama?");
+        QuestionAnalysis second = analyzer.analyse("  Who is the wife of  Barack Obama? ");
+
+        Assert.assertSame(second, first);
+        Assert.assertEquals(analyzer.getCacheStats().hitCount(), 1);
+        Assert.assertEquals(analyzer.getCacheStats().missCount(), 1);
+
+        // Mappings are resolved on the builder, each query must get its own.
+        SPARQLQueryBuilder builder = second.getSPARQLQueryBuilder();
+        Assert.assertNotSame(builder, first.getSPARQLQueryBuilder());
+        Assert.assertEquals(builder.getTriplePatterns().getPlanId(), "CLASS_1 INSTANCE_1");
+        Assert.assertEquals(builder.getBinding("INSTANCE_1").getTerm(), "Barack Obama");
+    }
+
+    @Test(expectedExceptions = StarGraphException.class)
+    public void caseSensitiveTest() {
+        analyzer.analyse("Who is the wife of Barack Obama?");
+        // Rules are case sensitive, the cached analysis can't be reused.
+        analyzer.analyse("WHO is the wife of Barack Obama?");
+    }
+
+    @Test
+    public void failedAnalysisTest() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                analyzer.analyse("WHO is the wife of Barack Obama?");
+                Assert.fail("Unmapped question was analysed");
+            } catch (StarGraphException e) {
+                // Expected, the failure must not be cached either.
+            }
+        }
+        Assert.assertEquals(analyzer.getCacheStats().missCount(), 2);
+        Assert.assertEquals(analyzer.getCacheStats().loadExceptionCount(), 2);
+    }
+
+    @Test
+    public void disabledTest() {
+        Config config = ConfigFactory.load().getConfig("stargraph");
+        QuestionAnalyzer uncached = new QuestionAnalyzer(Language.EN,
+                Analyzers.createAnnotatorFactory(ConfigFactory.parseString("annotator.factory.class="
+                        + CoreNLPAnnotatorFactory.class.getCanonicalName())).create(), new Rules(config));
+        Assert.assertNull(uncached.getCacheStats());
+    }
+}
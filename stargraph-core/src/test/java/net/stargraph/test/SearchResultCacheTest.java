@@ -0,0 +1,70 @@
+package net.stargraph.test;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.core.Stargraph;
+import net.stargraph.core.search.EntitySearcher;
+import net.stargraph.core.search.SearchResultCache;
+import net.stargraph.model.KBId;
+import net.stargraph.rank.ModifiableSearchParams;
+import net.stargraph.rank.ParamsBuilder;
+import net.stargraph.rank.Scores;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public final class SearchResultCacheTest {
+
+    private KBId kbId = KBId.of("obama", "entities");
+    private Stargraph stargraph;
+
+    @BeforeClass
+    public void beforeClass() {
+        this.stargraph = TestUtils.createObamaStargraph();
+    }
+
+    @Test
+    public void resultCacheTest() {
+        EntitySearcher entitySearcher = stargraph.getEntitySearcher();
+        SearchResultCache cache = entitySearcher.getResultCache();
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+
+        Scores first = entitySearcher.instanceSearch(ModifiableSearchParams.create(kbId.getId()).term("Barack Obama"), ParamsBuilder.levenshtein());
+        Assert.assertFalse(first.isEmpty());
+        Assert.assertEquals(cache.getMissCount(), misses + 1);
+
+        Scores second = entitySearcher.instanceSearch(ModifiableSearchParams.create(kbId.getId()).term("Barack Obama"), ParamsBuilder.levenshtein());
+        Assert.assertEquals(second, first);
+        Assert.assertEquals(cache.getHitCount(), hits + 1);
+
+        stargraph.getIndexer(kbId).flush();
+        entitySearcher.instanceSearch(ModifiableSearchParams.create(kbId.getId()).term("Barack Obama"), ParamsBuilder.levenshtein());
+        Assert.assertEquals(cache.getMissCount(), misses + 2);
+        Assert.assertEquals(cache.getHitCount(), hits + 1);
+    }
+}
@@ -0,0 +1,95 @@
+package net.stargraph.test;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.core.search.DefaultSearchResultCache;
+import net.stargraph.core.search.SearchResultCache;
+import net.stargraph.core.search.SearchResultKey;
+import net.stargraph.model.InstanceEntity;
+import net.stargraph.model.KBId;
+import net.stargraph.rank.ModifiableIndraParams;
+import net.stargraph.rank.ModifiableRankParams;
+import net.stargraph.rank.ParamsBuilder;
+import net.stargraph.rank.Score;
+import net.stargraph.rank.Scores;
+import net.stargraph.rank.Threshold;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public final class SearchResultKeyTest {
+    private final KBId kbId = KBId.of("obama", "entities");
+
+    @Test
+    public void sameParamsTest() {
+        Assert.assertEquals(key(indra(ParamsBuilder.word2vec())), key(indra(ParamsBuilder.word2vec())));
+        Assert.assertEquals(key(ParamsBuilder.levenshtein().topK(1)), key(ParamsBuilder.levenshtein().topK(1)));
+    }
+
+    @Test
+    public void rankingModelTest() {
+        SearchResultKey word2vec = key(indra(ParamsBuilder.word2vec()));
+        Assert.assertNotEquals(key(indra(ParamsBuilder.esa())), word2vec);
+        Assert.assertNotEquals(key(indra(ParamsBuilder.lsa())), word2vec);
+        Assert.assertNotEquals(key(indra(ParamsBuilder.glove())), word2vec);
+        Assert.assertNotEquals(key(ParamsBuilder.jaccard()), key(ParamsBuilder.levenshtein()));
+    }
+
+    @Test
+    public void thresholdTest() {
+        Assert.assertNotEquals(key(ParamsBuilder.levenshtein().threshold(Threshold.min(0.5))),
+                key(ParamsBuilder.levenshtein().threshold(Threshold.min(0.6))));
+        Assert.assertNotEquals(key(ParamsBuilder.levenshtein().threshold(Threshold.min(0.5))),
+                key(ParamsBuilder.levenshtein().threshold(Threshold.max(0.5))));
+    }
+
+    @Test
+    public void cacheEntryPerRankingModelTest() {
+        SearchResultCache cache = new DefaultSearchResultCache(100, 60_000);
+        Scores word2vec = scores("word2vec");
+        Scores esa = scores("esa");
+
+        Assert.assertEquals(cache.get(key(indra(ParamsBuilder.word2vec())), () -> word2vec), word2vec);
+        Assert.assertEquals(cache.get(key(indra(ParamsBuilder.esa())), () -> esa), esa);
+        Assert.assertEquals(cache.get(key(indra(ParamsBuilder.word2vec())), () -> esa), word2vec);
+        Assert.assertEquals(cache.getMissCount(), 2);
+        Assert.assertEquals(cache.getHitCount(), 1);
+    }
+
+    private SearchResultKey key(ModifiableRankParams params) {
+        return new SearchResultKey(kbId, "class", "president", params, null, 50);
+    }
+
+    private static ModifiableRankParams indra(ModifiableIndraParams params) {
+        return params.url("http://localhost:8916/relatedness").corpus("wiki-2014").language("EN").topK(3);
+    }
+
+    private static Scores scores(String id) {
+        Scores scores = new Scores();
+        scores.add(new Score(new InstanceEntity(id, id), 1));
+        return scores;
+    }
+}
@@ -26,6 +26,9 @@ package net.stargraph.test;
  * ==========================License-End===============================
  */
 
+import com.typesafe.config.ConfigFactory;
+import net.stargraph.core.Stargraph;
+import net.stargraph.core.index.Indexer;
 import net.stargraph.model.KBId;
 
 import java.io.File;
@@ -69,4 +72,24 @@ public final class TestUtils {
         }
         return root;
     }
+
+    /**
+     * Creates a Stargraph serving the 'obama' KB, its entities already loaded in the Lucene index.
+     */
+    public static Stargraph createObamaStargraph() {
+        ConfigFactory.invalidateCaches();
+        Stargraph stargraph = new Stargraph(ConfigFactory.load().getConfig("stargraph"), false);
+        stargraph.setKBInitSet("obama");
+        stargraph.setDataRootDir(prepareObamaTestEnv().toFile());
+        stargraph.initialize();
+
+        Indexer indexer = stargraph.getIndexer(KBId.of("obama", "entities"));
+        try {
+            indexer.load(true, -1);
+            indexer.awaitLoader();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return stargraph;
+    }
 }
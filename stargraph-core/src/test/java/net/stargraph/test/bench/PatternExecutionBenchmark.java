@@ -0,0 +1,157 @@
+package net.stargraph.test.bench;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-core
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.core.graph.CandidatePattern;
+import net.stargraph.core.impl.hdt.HDTTripleIndex;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.ResultSetFormatter;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdtjena.HDTGraph;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planner generated patterns evaluated on the HDT IDs against rendering and running them through ARQ.
+ * Entity hydration is left out, it costs the same on both paths.
+ * Not a unit test, run its main method. Set -Dbench.hdt to use another HDT file, defaults to the Obama test data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternExecutionBenchmark {
+    private static final String dbr = "http://dbpedia.org/resource/";
+    private static final String dbp = "http://dbpedia.org/property/";
+    private static final String dbo = "http://dbpedia.org/ontology/";
+    private static final String type = "http://www.w3.org/1999/02/22-rdf-syntax-ns#type";
+
+    private HDT hdt;
+    private Model model;
+    private HDTTripleIndex index;
+
+    // Who are the judges appointed by Obama? Pivot plus top ranked properties and classes, as resolved by the QueryEngine.
+    private List<CandidatePattern> classQuery = Arrays.asList(
+            new CandidatePattern(Collections.singletonList("?VAR_1"),
+                    Arrays.asList(dbp + "appointer", dbp + "nominator", dbp + "president", dbp + "successor", dbp + "predecessor", dbo + "spouse"),
+                    Collections.singletonList(dbr + "Barack_Obama")),
+            new CandidatePattern(Collections.singletonList("?VAR_1"), Collections.singletonList(type),
+                    Arrays.asList("http://dbpedia.org/class/yago/UnitedStatesDistrictCourtJudgesAppointedByBarackObama",
+                            dbo + "Judge", dbo + "Person")));
+
+    // Who was the vice president of Obama? I P V.
+    private List<CandidatePattern> propertyQuery = Collections.singletonList(
+            new CandidatePattern(Collections.singletonList(dbr + "Barack_Obama"),
+                    Arrays.asList(dbp + "vicepresident", dbp + "president", dbp + "successor", dbp + "predecessor", dbp + "after", dbp + "title"),
+                    Collections.singletonList("?VAR_1")));
+
+    // Two hops from the pivot.
+    private List<CandidatePattern> pathQuery = Arrays.asList(
+            new CandidatePattern(Collections.singletonList(dbr + "Barack_Obama"), Collections.singletonList(dbp + "vicepresident"),
+                    Collections.singletonList("?VAR_1")),
+            new CandidatePattern(Collections.singletonList("?VAR_1"), Collections.singletonList("?VAR_2"), Collections.singletonList("?VAR_3")));
+
+    @Setup
+    public void setup() throws Exception {
+        String defaultPath = new File(getClass().getResource("/dataSets/obama/facts/triples.hdt").toURI()).getAbsolutePath();
+        hdt = HDTManager.loadHDT(System.getProperty("bench.hdt", defaultPath), null);
+        HDTGraph graph = new HDTGraph(hdt);
+        model = ModelFactory.createModelForGraph(graph);
+        index = HDTTripleIndex.of(model);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        hdt.close();
+    }
+
+    @Benchmark
+    public int classQueryARQ() {
+        return arq(classQuery);
+    }
+
+    @Benchmark
+    public int classQueryDirect() {
+        return direct(classQuery);
+    }
+
+    @Benchmark
+    public int propertyQueryARQ() {
+        return arq(propertyQuery);
+    }
+
+    @Benchmark
+    public int propertyQueryDirect() {
+        return direct(propertyQuery);
+    }
+
+    @Benchmark
+    public int pathQueryARQ() {
+        return arq(pathQuery);
+    }
+
+    @Benchmark
+    public int pathQueryDirect() {
+        return direct(pathQuery);
+    }
+
+    private int arq(List<CandidatePattern> patterns) {
+        try (QueryExecution qexec = QueryExecutionFactory.create(CandidatePattern.toSPARQL(patterns), model)) {
+            return ResultSetFormatter.consume(qexec.execSelect());
+        }
+    }
+
+    private int direct(List<CandidatePattern> patterns) {
+        int count = 0;
+        Iterator<Binding> it = index.select(patterns);
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PatternExecutionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -33,6 +33,8 @@ import net.stargraph.core.KBCore;
 import net.stargraph.core.Stargraph;
 import net.stargraph.core.index.Indexer;
 import net.stargraph.core.search.EntitySearcher;
+import net.stargraph.core.search.SearchQueryGenerator;
+import net.stargraph.core.search.Searcher;
 import net.stargraph.model.*;
 import net.stargraph.rank.*;
 import org.testng.Assert;
@@ -116,6 +118,25 @@ public final class ElasticIndexerIT {
         Assert.assertEquals(expected, scores.get(0).getEntry());
     }
 
+    @Test
+    public void asyncSearchTest() throws Exception {
+        final InstanceEntity obama = new InstanceEntity("dbr:Barack_Obama", "Barack Obama");
+        SearchQueryGenerator generator = core.getSearchQueryGenerator(factsId.getModel());
+        Searcher searcher = core.getSearcher(factsId.getModel());
+
+        // Unlimited goes through the scroll context.
+        ModifiableSearchParams all = ModifiableSearchParams.create("obama").model(BuiltInModel.FACT);
+        Scores expected = searcher.search(generator.findPivotFacts(obama, all));
+        Assert.assertTrue(expected.size() > 10);
+        Assert.assertEquals(searcher.searchAsync(generator.findPivotFacts(obama, all)).get().size(), expected.size());
+
+        // Limited is a single sized search.
+        ModifiableSearchParams limited = ModifiableSearchParams.create("obama").model(BuiltInModel.FACT).limit(10);
+        Scores scores = searcher.searchAsync(generator.findPivotFacts(obama, limited)).get();
+        Assert.assertEquals(scores.size(), 10);
+        Assert.assertEquals(searcher.search(generator.findPivotFacts(obama, limited)), scores);
+    }
+
     @Test
     public void getEntitiesTest() {
         LabeledEntity obama = entitySearcher.getEntity("obama", "dbr:Barack_Obama");
@@ -29,7 +29,9 @@ package net.stargraph;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigRenderOptions;
 import net.stargraph.data.Indexable;
+import net.stargraph.data.processor.Hashable;
 import net.stargraph.data.processor.Holder;
+import net.stargraph.data.processor.Murmur3Hasher;
 import net.stargraph.model.Fact;
 import net.stargraph.model.InstanceEntity;
 import net.stargraph.model.KBId;
@@ -49,6 +51,7 @@ import java.util.regex.Pattern;
 public final class ModelUtils {
     private static final Pattern pathFragmentPattern = Pattern.compile("^(\\w+:)(\\w+/)+(\\w+)$");
     private static final String RE_CAMELCASE_OR_UNDERSCORE = "(?<!(^|[A-Z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])|_";
+    private static final ThreadLocal<Murmur3Hasher> HASHER = ThreadLocal.withInitial(Murmur3Hasher::new);
 
     public static String toStr(Config cfg) {
         return cfg == null ? null : cfg.root().render(ConfigRenderOptions.concise().setFormatted(true));
@@ -121,6 +124,22 @@ public final class ModelUtils {
         return split(remaining);
     }
 
+    /**
+     * Hash of the identity of the data. Allocates nothing but the returned 16 bytes.
+     */
+    public static byte[] createHashId(Hashable data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data can't be null");
+        }
+
+        Murmur3Hasher hasher = HASHER.get().reset();
+        data.hash(hasher);
+        return hasher.hash();
+    }
+
+    /**
+     * SHA-1 of the Java serialization of the data. Generic but slow, prefer {@link #createHashId(Hashable)}.
+     */
     public static byte[] createHashId(Serializable data) {
         if (data == null) {
             throw new IllegalArgumentException("data can't be null");
@@ -31,10 +31,15 @@ import net.stargraph.ModelUtils;
 import java.io.Serializable;
 
 /**
- * Should be used where a secure hash of this data us required.
+ * Should be used where a hash identifying this data is required, i.e. to detect duplicates.
  */
 public interface Hashable extends Serializable {
 
+    /**
+     * Feeds what identifies this data. Should agree with {@link Object#equals(Object)}.
+     */
+    void hash(Murmur3Hasher hasher);
+
     default byte[] hash() {
         return ModelUtils.createHashId(this);
     }
@@ -0,0 +1,206 @@
+package net.stargraph.data.processor;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-model
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+/**
+ * Streaming 128-bit MurmurHash3 (x64 variant).
+ * <p>
+ * Meant to be reused, see {@link #reset()}. Strings are fed as UTF-16 code units, no encoding takes place.
+ * Output is byte compatible with Guava's <code>Hashing.murmur3_128()</code> fed with the same primitives.
+ * Not thread-safe.
+ */
+public final class Murmur3Hasher {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final int seed;
+    private long h1;
+    private long h2;
+    private long k1;
+    private long k2;
+    private int buffered;
+    private long length;
+
+    public Murmur3Hasher() {
+        this(0);
+    }
+
+    public Murmur3Hasher(int seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    public Murmur3Hasher reset() {
+        h1 = seed & 0xFFFFFFFFL;
+        h2 = seed & 0xFFFFFFFFL;
+        k1 = 0;
+        k2 = 0;
+        buffered = 0;
+        length = 0;
+        return this;
+    }
+
+    public Murmur3Hasher putByte(byte b) {
+        long v = b & 0xFFL;
+        if (buffered < 8) {
+            k1 |= v << (buffered * 8);
+        } else {
+            k2 |= v << ((buffered - 8) * 8);
+        }
+
+        if (++buffered == 16) {
+            bmix(k1, k2);
+            k1 = 0;
+            k2 = 0;
+            buffered = 0;
+        }
+        length++;
+        return this;
+    }
+
+    public Murmur3Hasher putChar(char c) {
+        long v = c;
+        if (buffered < 7) {
+            k1 |= v << (buffered * 8);
+        } else if (buffered > 7 && buffered < 15) {
+            k2 |= v << ((buffered - 8) * 8);
+        } else {
+            // crosses a word or a block boundary
+            putByte((byte) c);
+            putByte((byte) (c >>> 8));
+            return this;
+        }
+
+        buffered += 2;
+        length += 2;
+        if (buffered == 16) {
+            bmix(k1, k2);
+            k1 = 0;
+            k2 = 0;
+            buffered = 0;
+        }
+        return this;
+    }
+
+    public Murmur3Hasher putInt(int i) {
+        putByte((byte) i);
+        putByte((byte) (i >>> 8));
+        putByte((byte) (i >>> 16));
+        putByte((byte) (i >>> 24));
+        return this;
+    }
+
+    public Murmur3Hasher putBoolean(boolean b) {
+        return putByte(b ? (byte) 1 : (byte) 0);
+    }
+
+    /**
+     * Feeds the length followed by the chars, so consecutive strings can't be confused (i.e "ab","c" and "a","bc").
+     * A null is fed as length -1.
+     */
+    public Murmur3Hasher putString(CharSequence s) {
+        if (s == null) {
+            return putInt(-1);
+        }
+
+        int len = s.length();
+        putInt(len);
+        for (int i = 0; i < len; i++) {
+            putChar(s.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * @return The 16 bytes hash: h1 then h2, both little-endian.
+     */
+    public byte[] hash() {
+        long h1 = this.h1;
+        long h2 = this.h2;
+
+        if (buffered > 0) {
+            if (buffered > 8) {
+                long k2 = this.k2 * C2;
+                k2 = Long.rotateLeft(k2, 33);
+                k2 *= C1;
+                h2 ^= k2;
+            }
+            long k1 = this.k1 * C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+
+        h1 += h2;
+        h2 += h1;
+
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+
+        h1 += h2;
+        h2 += h1;
+
+        byte[] out = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            out[i] = (byte) (h1 >>> (i * 8));
+            out[i + 8] = (byte) (h2 >>> (i * 8));
+        }
+        return out;
+    }
+
+    private void bmix(long k1, long k2) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        k1 *= C2;
+        h1 ^= k1;
+
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        k2 *= C1;
+        h2 ^= k2;
+
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
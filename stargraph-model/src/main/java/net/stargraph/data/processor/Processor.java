@@ -28,6 +28,9 @@ package net.stargraph.data.processor;
 
 import java.io.Serializable;
 
+/**
+ * A single instance is shared by all the loader workers of a model, hence it must be thread-safe when there is more than one.
+ */
 public interface Processor<T extends Serializable> {
 
     void run(Holder<T> holder) throws ProcessorException;
@@ -26,6 +26,7 @@ package net.stargraph.data.processor;
  * ==========================License-End===============================
  */
 
+import java.util.Collections;
 import java.util.List;
 
 public final class ProcessorChain {
@@ -45,6 +46,33 @@ public final class ProcessorChain {
         }
     }
 
+    /**
+     * Releases what the processors hold, i.e. their threads. Every processor is closed even if one fails.
+     */
+    public void close() throws ProcessorException {
+        ProcessorException error = null;
+        for (Processor p : chain) {
+            if (p instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) p).close();
+                } catch (Exception e) {
+                    if (error == null) {
+                        error = new ProcessorException("Fail to close the chain.", e);
+                    } else {
+                        error.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    public List<Processor> getProcessors() {
+        return Collections.unmodifiableList(chain);
+    }
+
     @Override
     public String toString() {
         return "ProcessorChain{" +
@@ -26,6 +26,8 @@ package net.stargraph.model;
  * ==========================License-End===============================
  */
 
+import net.stargraph.data.processor.Murmur3Hasher;
+
 public final class ContextEntity implements ContextId {
     private String id;
 
@@ -40,6 +42,11 @@ public final class ContextEntity implements ContextId {
         return id;
     }
 
+    @Override
+    public void hash(Murmur3Hasher hasher) {
+        hasher.putString(getClass().getName()).putString(id);
+    }
+
     @Override
     public String toString() {
         return "Context{" +
@@ -27,6 +27,7 @@ package net.stargraph.model;
  */
 
 import net.stargraph.data.processor.Hashable;
+import net.stargraph.data.processor.Murmur3Hasher;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -91,6 +92,11 @@ public final class Document implements Hashable {
                 '}';
     }
 
+    @Override
+    public void hash(Murmur3Hasher hasher) {
+        hasher.putString(id);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
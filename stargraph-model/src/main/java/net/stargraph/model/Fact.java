@@ -27,6 +27,7 @@ package net.stargraph.model;
  */
 
 import net.stargraph.data.processor.Hashable;
+import net.stargraph.data.processor.Murmur3Hasher;
 
 import java.util.Objects;
 
@@ -74,6 +75,14 @@ public final class Fact implements Hashable {
                 "}";
     }
 
+    @Override
+    public void hash(Murmur3Hasher hasher) {
+        hasher.putString(kbId.getId()).putString(kbId.getModel());
+        subject.hash(hasher);
+        predicate.hash(hasher);
+        object.hash(hasher);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
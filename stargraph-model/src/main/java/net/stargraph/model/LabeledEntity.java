@@ -27,6 +27,7 @@ package net.stargraph.model;
  */
 
 import net.stargraph.data.processor.Hashable;
+import net.stargraph.data.processor.Murmur3Hasher;
 import net.stargraph.rank.Rankable;
 
 public abstract class LabeledEntity implements Hashable, Rankable {
@@ -56,6 +57,12 @@ public abstract class LabeledEntity implements Hashable, Rankable {
         return value;
     }
 
+    @Override
+    public void hash(Murmur3Hasher hasher) {
+        // Same identity of equals: concrete type and id.
+        hasher.putString(getClass().getName()).putString(id);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
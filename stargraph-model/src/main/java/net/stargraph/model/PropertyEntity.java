@@ -27,6 +27,7 @@ package net.stargraph.model;
  */
 
 import net.stargraph.data.processor.Hashable;
+import net.stargraph.data.processor.Murmur3Hasher;
 import net.stargraph.model.wordnet.WNTuple;
 import net.stargraph.rank.Rankable;
 
@@ -86,6 +87,11 @@ public final class PropertyEntity implements Hashable, Rankable {
         return value;
     }
 
+    @Override
+    public void hash(Murmur3Hasher hasher) {
+        hasher.putString(id);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -26,6 +26,7 @@ package net.stargraph.rank;
  * ==========================License-End===============================
  */
 
+import net.stargraph.rank.impl.RelatednessClient;
 import org.lambda3.indra.client.ScoreFunction;
 
 import java.util.Objects;
@@ -35,6 +36,7 @@ public final class ModifiableIndraParams extends ModifiableRankParams {
     private String corpus;
     private String language;
     private ScoreFunction scoreFunction;
+    private RelatednessClient client;
 
     public ModifiableIndraParams(Threshold threshold, RankingModel rankingModel) {
         super(threshold, rankingModel);
@@ -65,6 +67,14 @@ public final class ModifiableIndraParams extends ModifiableRankParams {
         return this;
     }
 
+    /**
+     * Shared client used by the rankers, otherwise each ranking call uses its own.
+     */
+    public ModifiableIndraParams client(RelatednessClient client) {
+        this.client = Objects.requireNonNull(client);
+        return this;
+    }
+
     public String getUrl() {
         return url;
     }
@@ -81,6 +91,10 @@ public final class ModifiableIndraParams extends ModifiableRankParams {
         return scoreFunction;
     }
 
+    public RelatednessClient getClient() {
+        return client;
+    }
+
     @Override
     public String toString() {
         return "IndraParams{" +
@@ -89,6 +103,7 @@ public final class ModifiableIndraParams extends ModifiableRankParams {
                 ", language='" + language + '\'' +
                 ", scoreFunction='" + scoreFunction + '\'' +
                 ", threshold=" + this.getThreshold() +
+                ", topK=" + this.getTopK() +
                 '}';
     }
 }
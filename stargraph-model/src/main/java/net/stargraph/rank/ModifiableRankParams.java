@@ -30,6 +30,7 @@ public class ModifiableRankParams {
 
     private Threshold threshold;
     private RankingModel rankingModel;
+    private int topK = -1;
 
     public ModifiableRankParams() {
         //
@@ -50,6 +51,14 @@ public class ModifiableRankParams {
         return this;
     }
 
+    /**
+     * Hint of how many of the best entries are needed. Negative means all.
+     */
+    public final ModifiableRankParams topK(int topK) {
+        this.topK = topK;
+        return this;
+    }
+
     public final Threshold getThreshold() {
         return threshold;
     }
@@ -58,9 +67,13 @@ public class ModifiableRankParams {
         return rankingModel;
     }
 
+    public final int getTopK() {
+        return topK;
+    }
+
     @Override
     public String toString() {
-        return "RankParams{" + rankingModel + ", " + threshold + "}";
+        return "RankParams{" + rankingModel + ", " + threshold + ", topK=" + topK + "}";
     }
 
 }
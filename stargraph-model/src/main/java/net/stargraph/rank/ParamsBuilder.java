@@ -67,4 +67,8 @@ public final class ParamsBuilder {
     public static ModifiableIndraParams glove() {
         return new ModifiableIndraParams(Threshold.auto(), RankingModel.GLOVE);
     }
+
+    public static ModifiableEmbeddingParams embeddings(String file) {
+        return new ModifiableEmbeddingParams(Threshold.auto()).file(file);
+    }
 }
@@ -30,4 +30,9 @@ public interface Ranker {
 
     Scores score(Scores inputScores, Rankable target);
 
+    /**
+     * Computes the new value of each input entry, aligned with the input, without sorting.
+     */
+    double[] rank(Scores inputScores, Rankable target);
+
 }
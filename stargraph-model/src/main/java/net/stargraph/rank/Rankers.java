@@ -42,10 +42,20 @@ public final class Rankers {
     }
 
     public static Scores apply(Scores inputScores, ModifiableRankParams rankParams, Rankable target) {
+        return apply(inputScores, rankParams, target, rankParams.getTopK());
+    }
+
+    /**
+     * Re-ranks and filters by the threshold keeping at most <code>topK</code> entries, best first.
+     * Only the kept entries are sorted.
+     *
+     * @param topK Maximum entries returned. Negative means all.
+     */
+    public static Scores apply(Scores inputScores, ModifiableRankParams rankParams, Rankable target, int topK) {
         logger.info(marker, "Applying {} on {} entries.", rankParams, inputScores.size());
         Ranker ranker = createRanker(rankParams);
-        Scores rescores = ranker.score(inputScores, target);
-        return ThresholdFilter.filter(rescores, rankParams.getThreshold());
+        double[] values = ranker.rank(inputScores, target);
+        return ThresholdFilter.filter(inputScores, values, rankParams.getThreshold(), topK);
     }
 
     private static Ranker createRanker(ModifiableRankParams params) {
@@ -55,16 +65,29 @@ public final class Rankers {
             case JAROWINKLER:
                 return new JarowinklerRanker();
             case LEVENSHTEIN:
-                return new LevenshteinRanker();
+                return new LevenshteinRanker(maxDistance(params.getThreshold()));
             case FUZZY:
                 return new FuzzyRanker();
             case W2V:
             case ESA:
                 return new IndraRanker((ModifiableIndraParams) params);
+            case EMBEDDINGS:
+                return new EmbeddingRanker((ModifiableEmbeddingParams) params);
         }
         throw new StarGraphException("Unknown Ranker!");
     }
 
+    /**
+     * Largest distance that can still score above a MIN threshold, given a score of 1 / (distance + 1).
+     * Farther candidates would be filtered anyway, so computing them exactly is wasted.
+     */
+    private static int maxDistance(Threshold threshold) {
+        if (threshold == null || threshold.type != Threshold.ThresholdType.MIN || threshold.value <= 0) {
+            return -1;
+        }
+        return (int) Math.min(Integer.MAX_VALUE / 4, Math.max(0, Math.ceil(1 / threshold.value - 1)));
+    }
+
     private static Rankable asRankable(String term) {
         return new Rankable() {
             @Override
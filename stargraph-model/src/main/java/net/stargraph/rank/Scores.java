@@ -29,6 +29,7 @@ package net.stargraph.rank;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.DoublePredicate;
 
 public final class Scores extends ArrayList<Score> {
 
@@ -50,4 +51,89 @@ public final class Scores extends ArrayList<Score> {
             Collections.reverse(this);
         }
     }
+
+    /**
+     * Selects the best <code>topK</code> entries by the given values with a bounded heap, no full sort.
+     * The order is the same as {@link #sort(boolean) sort(true)}: ties go to the entry that comes last.
+     *
+     * @param entries Scored entries, only their entries are kept.
+     * @param values New value of each entry, aligned with the entries.
+     * @param topK Maximum entries returned. Negative means all.
+     * @param accept Optional filter on the values.
+     * @return The selected entries rescored, best first.
+     */
+    public static Scores top(Scores entries, double[] values, int topK, DoublePredicate accept) {
+        if (entries.size() != values.length) {
+            throw new IllegalArgumentException("Expected " + entries.size() + " values, got " + values.length);
+        }
+
+        final int k = topK < 0 || topK > values.length ? values.length : topK;
+        final int[] heap = new int[k]; // worst selected on top
+        int size = 0;
+
+        for (int i = 0; i < values.length && k > 0; i++) {
+            if (accept != null && !accept.test(values[i])) {
+                continue;
+            }
+            if (size < k) {
+                heap[size] = i;
+                siftUp(heap, size++, values);
+            } else if (worse(heap[0], i, values)) {
+                heap[0] = i;
+                siftDown(heap, size, values);
+            }
+        }
+
+        final int[] ordered = new int[size];
+        for (int j = size - 1; j >= 0; j--) {
+            ordered[j] = heap[0];
+            heap[0] = heap[j];
+            siftDown(heap, j, values);
+        }
+
+        Scores selected = new Scores(size);
+        for (int idx : ordered) {
+            selected.add(new Score(entries.get(idx).getEntry(), values[idx]));
+        }
+        return selected;
+    }
+
+    private static boolean worse(int a, int b, double[] values) {
+        int cmp = Double.compare(values[a], values[b]);
+        return cmp < 0 || (cmp == 0 && a < b);
+    }
+
+    private static void siftUp(int[] heap, int pos, double[] values) {
+        int node = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!worse(node, heap[parent], values)) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = node;
+    }
+
+    private static void siftDown(int[] heap, int size, double[] values) {
+        if (size == 0) {
+            return;
+        }
+        int pos = 0;
+        int node = heap[0];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            if (child + 1 < size && worse(heap[child + 1], heap[child], values)) {
+                child++;
+            }
+            if (!worse(heap[child], node, values)) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = node;
+    }
 }
@@ -32,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -110,4 +111,124 @@ public final class ThresholdFilter {
         return filtered;
     }
 
+    /**
+     * Same as ranking all entries with the given values, sorting, filtering and keeping the first <code>topK</code>,
+     * without sorting all of them.
+     *
+     * @param entries Entries to rank.
+     * @param values New value of each entry, aligned with the entries.
+     * @param topK Maximum entries returned. Negative means all.
+     */
+    public static Scores filter(Scores entries, double[] values, Threshold threshold, int topK) {
+        if (Objects.requireNonNull(entries).isEmpty()) {
+            logger.warn(marker, "Nothing to filter.");
+            return new Scores();
+        }
+
+        Scores filtered;
+
+        switch (threshold.type) {
+            case AUTO:
+                Scores top = Scores.top(entries, values, topK, null);
+                if (values.length < 3 || top.isEmpty()) {
+                    return top;
+                }
+
+                double max = Math.max(Double.MIN_VALUE, maxGap(values));
+                logger.debug(marker, "AUTO threshold value is {}", max);
+
+                filtered = new Scores(top.size());
+                Score previous = top.get(0);
+                filtered.add(previous);
+                for (int i = 1; i < top.size(); i++) {
+                    Score curr = top.get(i);
+                    if (previous.getValue() - curr.getValue() < max) {
+                        filtered.add(curr);
+                    } else {
+                        break;
+                    }
+                    previous = curr;
+                }
+                break;
+
+            case MIN:
+                filtered = Scores.top(entries, values, topK, v -> v > threshold.value);
+                break;
+
+            case MAX:
+                filtered = Scores.top(entries, values, topK, v -> v < threshold.value);
+                break;
+
+            default:
+                throw new StarGraphException("Unknown Threshold Type");
+        }
+
+        if (filtered.isEmpty()) {
+            logger.warn(marker, "Nothing left. All filtered by ({})", threshold);
+        }
+
+        logger.trace(marker, "After {}: {}", threshold, filtered);
+
+        return filtered;
+    }
+
+    /**
+     * Largest difference between two consecutive values once sorted, in linear time (pigeonhole buckets).
+     */
+    static double maxGap(double[] values) {
+        final int n = values.length;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            if (Double.isNaN(v) || Double.isInfinite(v)) {
+                return sortedMaxGap(values);
+            }
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+
+        if (n < 2 || min == max) {
+            return 0;
+        }
+
+        // n buckets of width (max - min) / (n - 1), at least one gap is as large as a bucket.
+        final double[] bucketMin = new double[n];
+        final double[] bucketMax = new double[n];
+        Arrays.fill(bucketMin, Double.POSITIVE_INFINITY);
+        Arrays.fill(bucketMax, Double.NEGATIVE_INFINITY);
+        final double scale = (n - 1) / (max - min);
+        for (double v : values) {
+            int b = Math.min(n - 1, (int) ((v - min) * scale));
+            bucketMin[b] = Math.min(bucketMin[b], v);
+            bucketMax[b] = Math.max(bucketMax[b], v);
+        }
+
+        double gap = 0;
+        double widestBucket = 0;
+        double previousMax = bucketMax[0];
+        for (int b = 0; b < n; b++) {
+            if (bucketMin[b] == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            gap = Math.max(gap, bucketMin[b] - previousMax);
+            widestBucket = Math.max(widestBucket, bucketMax[b] - bucketMin[b]);
+            previousMax = bucketMax[b];
+        }
+
+        // Rounding may let a bucket be as wide as the gap found, then only sorting is exact.
+        return widestBucket < gap ? gap : sortedMaxGap(values);
+    }
+
+    private static double sortedMaxGap(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double max = 0;
+        for (int i = sorted.length - 1; i > 0; i--) {
+            double diff = sorted[i] - sorted[i - 1];
+            if (diff > max) {
+                max = diff;
+            }
+        }
+        return max;
+    }
 }
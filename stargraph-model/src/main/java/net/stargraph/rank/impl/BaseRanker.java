@@ -42,10 +42,19 @@ abstract class BaseRanker implements Ranker {
     @Override
     public final Scores score(Scores inputScores, Rankable target) {
         logger.trace(marker, "Target: '{}', input: {}", target.getValue(), inputScores);
-        Scores rescore = doScore(inputScores, target);
+        Scores rescore = Scores.top(inputScores, doScore(inputScores, target), -1, null);
         logger.trace(marker, "Target: '{}', output: {}", target.getValue(), rescore);
         return rescore;
     }
 
-    abstract Scores doScore(Scores inputScores, Rankable target);
+    @Override
+    public final double[] rank(Scores inputScores, Rankable target) {
+        logger.trace(marker, "Target: '{}', input: {}", target.getValue(), inputScores);
+        return doScore(inputScores, target);
+    }
+
+    /**
+     * @return The new value of each input entry.
+     */
+    abstract double[] doScore(Scores inputScores, Rankable target);
 }
@@ -0,0 +1,64 @@
+package net.stargraph.rank.impl;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-model
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.rank.ModifiableEmbeddingParams;
+import net.stargraph.rank.Rankable;
+import net.stargraph.rank.Scores;
+
+import java.nio.file.Paths;
+import java.util.Objects;
+
+/**
+ * Ranks by the cosine of the word vectors of a local embeddings file. Unknown words are scored zero.
+ */
+public final class EmbeddingRanker extends BaseRanker {
+    private WordEmbeddings embeddings;
+
+    public EmbeddingRanker(ModifiableEmbeddingParams params) {
+        this(WordEmbeddings.open(Paths.get(Objects.requireNonNull(params.getFile(), "Embeddings file is required"))));
+    }
+
+    public EmbeddingRanker(WordEmbeddings embeddings) {
+        this.embeddings = Objects.requireNonNull(embeddings);
+    }
+
+    @Override
+    double[] doScore(Scores inputScores, Rankable target) {
+        final float[] targetVector = embeddings.vectorOf(target.getValue());
+        final double[] values = new double[inputScores.size()];
+
+        if (targetVector != null) {
+            for (int i = 0; i < values.length; i++) {
+                float[] vector = embeddings.vectorOf(inputScores.get(i).getRankableView().getValue());
+                values[i] = vector != null ? WordEmbeddings.cosine(vector, targetVector) : 0;
+            }
+        }
+
+        return values;
+    }
+}
@@ -26,62 +26,54 @@ package net.stargraph.rank.impl;
  * ==========================License-End===============================
  */
 
+import net.stargraph.StarGraphException;
 import net.stargraph.rank.ModifiableIndraParams;
 import net.stargraph.rank.Rankable;
-import net.stargraph.rank.Score;
 import net.stargraph.rank.Scores;
-import org.glassfish.jersey.jackson.JacksonFeature;
-import org.lambda3.indra.client.RelatednessRequest;
-import org.lambda3.indra.client.RelatednessResponse;
-import org.lambda3.indra.client.TextPair;
 
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.Entity;
-import javax.ws.rs.client.WebTarget;
-import javax.ws.rs.core.MediaType;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
 
 public final class IndraRanker extends BaseRanker {
     private ModifiableIndraParams params;
-    private Client client;
-
 
     public IndraRanker(ModifiableIndraParams params) {
         this.params = Objects.requireNonNull(params);
-        client = ClientBuilder.newClient().register(JacksonFeature.class);
     }
 
     @Override
-    Scores doScore(Scores inputScores, Rankable target) {
-        List<TextPair> pairs = inputScores.stream()
-                .map(score -> new TextPair(score.getRankableView().getValue(), target.getValue()))
-                .collect(Collectors.toList());
-
-        RelatednessRequest request = new RelatednessRequest()
-                .corpus(params.getCorpus())
-                .language(params.getLanguage())
-                .scoreFunction(params.getScoreFunction())
-                .model(params.getRankingModel().name())
-                .pairs(pairs);
-
-        WebTarget webTarget = client.target(params.getUrl());
-        RelatednessResponse response = webTarget.request()
-                .post(Entity.entity(request, MediaType.APPLICATION_JSON_TYPE), RelatednessResponse.class);
+    double[] doScore(Scores inputScores, Rankable target) {
+        Set<String> candidates = new LinkedHashSet<>();
+        inputScores.forEach(score -> candidates.add(score.getRankableView().getValue()));
 
-        Scores rescored = new Scores(inputScores.size());
-        response.getPairs().forEach(p -> rescored.addAll(find(inputScores, p.t1, p.score)));
+        Map<String, Double> relatedness;
+        RelatednessClient client = params.getClient();
+        if (client != null) {
+            relatedness = request(client, candidates, target);
+        } else {
+            try (RelatednessClient ownClient = new RelatednessClient(0, Integer.MAX_VALUE, 0, 1, 0)) {
+                relatedness = request(ownClient, candidates, target);
+            }
+        }
 
-        rescored.sort(true);
-        return rescored;
+        final double[] values = new double[inputScores.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = relatedness.getOrDefault(inputScores.get(i).getRankableView().getValue(), 0.0);
+        }
+        return values;
     }
 
-    private List<Score> find(Scores scores, String text, double v) {
-        return scores.stream()
-                .map(Score::getRankableView)
-                .filter(s -> s.getValue().equals(text))
-                .map(r -> new Score(r, v)).collect(Collectors.toList());
+    private Map<String, Double> request(RelatednessClient client, Set<String> candidates, Rankable target) {
+        try {
+            return client.relatedness(params, target.getValue(), candidates).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new StarGraphException("Ranking failure", e.getCause());
+        }
     }
 }
@@ -26,14 +26,10 @@ package net.stargraph.rank.impl;
  * ==========================License-End===============================
  */
 
-import org.apache.commons.text.beta.similarity.JaccardDistance;
-
 public final class JaccardRanker extends StringDistanceRanker {
 
-    private JaccardDistance jaccardDistance = new JaccardDistance();
-
     @Override
     double computeStringDistance(CharSequence s1, CharSequence s2) {
-        return jaccardDistance.apply(s1, s2);
+        return StringDistances.jaccardDistance(s1, s2);
     }
 }
@@ -26,12 +26,10 @@ package net.stargraph.rank.impl;
  * ==========================License-End===============================
  */
 
-import org.apache.commons.lang3.StringUtils;
-
 public final class JarowinklerRanker extends StringDistanceRanker {
 
     @Override
     double computeStringDistance(CharSequence s1, CharSequence s2) {
-        return StringUtils.getJaroWinklerDistance(s1, s2);
+        return StringDistances.jaroWinkler(s1, s2);
     }
 }
@@ -26,12 +26,26 @@ package net.stargraph.rank.impl;
  * ==========================License-End===============================
  */
 
-import org.apache.commons.lang3.StringUtils;
-
 public final class LevenshteinRanker extends StringDistanceRanker {
+    private int maxDistance;
+
+    public LevenshteinRanker() {
+        this(-1);
+    }
+
+    /**
+     * @param maxDistance Distances above are not computed and the candidate scores zero. Negative means no limit.
+     */
+    public LevenshteinRanker(int maxDistance) {
+        this.maxDistance = maxDistance;
+    }
 
     @Override
     double computeStringDistance(CharSequence s1, CharSequence s2) {
-        return StringUtils.getLevenshteinDistance(s1, s2);
+        if (maxDistance < 0) {
+            return StringDistances.levenshtein(s1, s2);
+        }
+        int distance = StringDistances.levenshtein(s1, s2, maxDistance);
+        return distance >= 0 ? distance : Double.POSITIVE_INFINITY;
     }
 }
@@ -0,0 +1,245 @@
+package net.stargraph.rank.impl;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-model
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.StarGraphException;
+import net.stargraph.rank.ModifiableIndraParams;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.jackson.JacksonFeature;
+import org.lambda3.indra.client.RelatednessRequest;
+import org.lambda3.indra.client.RelatednessResponse;
+import org.lambda3.indra.client.TextPair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.MediaType;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared client of the distributional (Indra) service.
+ * Concurrent requests for the same service, corpus, language and model arriving within a short window are sent
+ * as a single batched call. Scored pairs are kept in a LRU cache.
+ */
+public final class RelatednessClient implements AutoCloseable {
+    private static Logger logger = LoggerFactory.getLogger(RelatednessClient.class);
+    private static Marker marker = MarkerFactory.getMarker("rank");
+
+    private final Client client;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final Map<String, Batch> openBatches;
+    private final Map<String, Double> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+
+    /**
+     * @param windowMillis How long a batch waits for other requests before being sent.
+     * @param maxBatchSize Pairs that make a batch be sent right away.
+     * @param cacheSize Maximum number of scored pairs cached.
+     * @param threads Threads performing the calls.
+     * @param timeoutMillis Connect and read timeout.
+     */
+    public RelatednessClient(long windowMillis, int maxBatchSize, int cacheSize, int threads, int timeoutMillis) {
+        if (windowMillis < 0 || maxBatchSize <= 0 || cacheSize < 0 || threads <= 0) {
+            throw new IllegalArgumentException("Invalid relatedness client settings.");
+        }
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.openBatches = new HashMap<>();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, Double>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+                return size() > cacheSize;
+            }
+        });
+
+        ClientConfig config = new ClientConfig()
+                .property(ClientProperties.ASYNC_THREADPOOL_SIZE, threads)
+                .property(ClientProperties.CONNECT_TIMEOUT, timeoutMillis)
+                .property(ClientProperties.READ_TIMEOUT, timeoutMillis);
+        this.client = ClientBuilder.newClient(config).register(JacksonFeature.class);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "relatedness-batcher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Scores the relatedness of each candidate to the target.
+     *
+     * @return Scores keyed by candidate.
+     */
+    public CompletableFuture<Map<String, Double>> relatedness(ModifiableIndraParams params,
+                                                              String target, Collection<String> candidates) {
+        final String batchKey = batchKey(params);
+        final Map<String, Double> scores = new HashMap<>();
+        final Set<String> missing = new LinkedHashSet<>();
+
+        for (String candidate : candidates) {
+            Double score = cache.get(pairKey(batchKey, candidate, target));
+            if (score != null) {
+                scores.put(candidate, score);
+            } else {
+                missing.add(candidate);
+            }
+        }
+
+        hits.addAndGet(scores.size());
+        misses.addAndGet(missing.size());
+
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(scores);
+        }
+
+        return enqueue(params, batchKey, target, missing).thenApply(done -> {
+            for (String candidate : missing) {
+                scores.put(candidate, done.getOrDefault(pairKey(batchKey, candidate, target), 0.0));
+            }
+            return scores;
+        });
+    }
+
+    public long getCacheHits() {
+        return hits.get();
+    }
+
+    public long getCacheMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Number of calls made to the service.
+     */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        synchronized (openBatches) {
+            openBatches.values().forEach(b -> b.result.completeExceptionally(new IllegalStateException("Client closed.")));
+            openBatches.clear();
+        }
+        client.close();
+    }
+
+    private CompletableFuture<Map<String, Double>> enqueue(ModifiableIndraParams params, String batchKey,
+                                                           String target, Collection<String> candidates) {
+        Batch batch;
+        boolean full;
+        synchronized (openBatches) {
+            batch = openBatches.get(batchKey);
+            if (batch == null) {
+                batch = new Batch(params, batchKey);
+                openBatches.put(batchKey, batch);
+                final Batch scheduled = batch;
+                scheduler.schedule(() -> send(scheduled), windowMillis, TimeUnit.MILLISECONDS);
+            }
+            for (String candidate : candidates) {
+                batch.pairs.putIfAbsent(pairKey(batchKey, candidate, target), new TextPair(candidate, target));
+            }
+            full = batch.pairs.size() >= maxBatchSize;
+        }
+
+        if (full) {
+            send(batch);
+        }
+        return batch.result;
+    }
+
+    private void send(Batch batch) {
+        synchronized (openBatches) {
+            if (openBatches.get(batch.key) != batch) {
+                return; // already sent
+            }
+            openBatches.remove(batch.key);
+        }
+
+        ModifiableIndraParams params = batch.params;
+        RelatednessRequest request = new RelatednessRequest()
+                .corpus(params.getCorpus())
+                .language(params.getLanguage())
+                .scoreFunction(params.getScoreFunction())
+                .model(params.getRankingModel().name())
+                .pairs(new ArrayList<>(batch.pairs.values()));
+
+        logger.debug(marker, "Requesting {} pairs to {}", batch.pairs.size(), params.getUrl());
+        calls.incrementAndGet();
+
+        client.target(params.getUrl()).request().async()
+                .post(Entity.entity(request, MediaType.APPLICATION_JSON_TYPE), new InvocationCallback<RelatednessResponse>() {
+                    @Override
+                    public void completed(RelatednessResponse response) {
+                        Map<String, Double> scored = new HashMap<>();
+                        response.getPairs().forEach(p -> scored.put(pairKey(batch.key, p.t1, p.t2), p.score));
+                        cache.putAll(scored);
+                        batch.result.complete(scored);
+                    }
+
+                    @Override
+                    public void failed(Throwable throwable) {
+                        batch.result.completeExceptionally(
+                                new StarGraphException("Distributional service failure: " + params.getUrl(), throwable));
+                    }
+                });
+    }
+
+    private static String batchKey(ModifiableIndraParams params) {
+        return String.join("\u0000", String.valueOf(params.getUrl()), String.valueOf(params.getCorpus()),
+                String.valueOf(params.getLanguage()), String.valueOf(params.getRankingModel()),
+                String.valueOf(params.getScoreFunction()));
+    }
+
+    private static String pairKey(String batchKey, String t1, String t2) {
+        return batchKey + '\u0000' + t1 + '\u0000' + t2;
+    }
+
+    private static final class Batch {
+        final ModifiableIndraParams params;
+        final String key;
+        final Map<String, TextPair> pairs = new LinkedHashMap<>();
+        final CompletableFuture<Map<String, Double>> result = new CompletableFuture<>();
+
+        Batch(ModifiableIndraParams params, String key) {
+            this.params = params;
+            this.key = key;
+        }
+    }
+}
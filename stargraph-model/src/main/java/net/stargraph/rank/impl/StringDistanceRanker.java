@@ -27,22 +27,21 @@ package net.stargraph.rank.impl;
  */
 
 import net.stargraph.rank.Rankable;
-import net.stargraph.rank.Score;
 import net.stargraph.rank.Scores;
 
 public abstract class StringDistanceRanker extends BaseRanker {
 
     @Override
-    final Scores doScore(Scores inputScores, Rankable target) {
-        Scores rescored = new Scores(inputScores.size());
+    final double[] doScore(Scores inputScores, Rankable target) {
+        final String targetValue = target.getValue();
+        final double[] values = new double[inputScores.size()];
 
-        inputScores.forEach(score -> {
-            double dist = 1.0 / (computeStringDistance(score.getRankableView().getValue(), target.getValue()) + 1);
-            rescored.add(new Score(score.getEntry(), dist));
-        });
+        for (int i = 0; i < values.length; i++) {
+            double dist = computeStringDistance(inputScores.get(i).getRankableView().getValue(), targetValue);
+            values[i] = 1.0 / (dist + 1);
+        }
 
-        rescored.sort(true);
-        return rescored;
+        return values;
     }
 
     abstract double computeStringDistance(CharSequence s1, CharSequence s2);
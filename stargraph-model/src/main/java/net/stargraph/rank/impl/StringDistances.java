@@ -0,0 +1,289 @@
+package net.stargraph.rank.impl;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-model
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import java.util.Arrays;
+
+/**
+ * String distances computed on per-thread buffers, no allocation once the buffers have grown to the input size.
+ * Results are the same as the commons-lang / commons-text implementations the rankers used before.
+ */
+public final class StringDistances {
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+    private static final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    private StringDistances() {
+        // static only
+    }
+
+    /**
+     * Levenshtein distance.
+     */
+    public static int levenshtein(CharSequence s, CharSequence t) {
+        if (s.length() > t.length()) {
+            CharSequence tmp = s;
+            s = t;
+            t = tmp;
+        }
+
+        final int n = s.length();
+        final int m = t.length();
+        if (n == 0) {
+            return m;
+        }
+
+        final Buffers b = buffers.get();
+        int[] p = b.ints(0, n + 1);
+        int[] d = b.ints(1, n + 1);
+
+        for (int i = 0; i <= n; i++) {
+            p[i] = i;
+        }
+
+        for (int j = 1; j <= m; j++) {
+            final char tj = t.charAt(j - 1);
+            d[0] = j;
+            for (int i = 1; i <= n; i++) {
+                int cost = s.charAt(i - 1) == tj ? 0 : 1;
+                d[i] = Math.min(Math.min(d[i - 1] + 1, p[i] + 1), p[i - 1] + cost);
+            }
+            int[] swap = p;
+            p = d;
+            d = swap;
+        }
+
+        return p[n];
+    }
+
+    /**
+     * Levenshtein distance if it is at most <code>threshold</code>. Only the diagonal band of that width is
+     * computed and the computation stops as soon as a whole row exceeds the threshold.
+     *
+     * @return the distance or -1 if greater than the threshold.
+     */
+    public static int levenshtein(CharSequence s, CharSequence t, int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative");
+        }
+
+        if (s.length() > t.length()) {
+            CharSequence tmp = s;
+            s = t;
+            t = tmp;
+        }
+
+        final int n = s.length();
+        final int m = t.length();
+        if (m - n > threshold) {
+            return -1;
+        }
+        if (n == 0) {
+            return m;
+        }
+
+        final Buffers b = buffers.get();
+        int[] p = b.ints(0, n + 1);
+        int[] d = b.ints(1, n + 1);
+
+        final int boundary = Math.min(n, threshold) + 1;
+        for (int i = 0; i < boundary; i++) {
+            p[i] = i;
+        }
+        Arrays.fill(p, boundary, n + 1, INFINITY);
+        Arrays.fill(d, 0, n + 1, INFINITY);
+
+        for (int j = 1; j <= m; j++) {
+            final char tj = t.charAt(j - 1);
+            d[0] = j;
+
+            final int min = Math.max(1, j - threshold);
+            final int max = j > Integer.MAX_VALUE - threshold ? n : Math.min(n, j + threshold);
+            if (min > max) {
+                return -1;
+            }
+            if (min > 1) {
+                d[min - 1] = INFINITY;
+            }
+
+            int rowMin = min == 1 ? j : INFINITY;
+            for (int i = min; i <= max; i++) {
+                if (s.charAt(i - 1) == tj) {
+                    d[i] = p[i - 1];
+                } else {
+                    d[i] = 1 + Math.min(Math.min(d[i - 1], p[i]), p[i - 1]);
+                }
+                rowMin = Math.min(rowMin, d[i]);
+            }
+            if (max < n) {
+                d[max + 1] = INFINITY;
+            }
+
+            if (rowMin > threshold) {
+                return -1; // rows minimum never decreases
+            }
+
+            int[] swap = p;
+            p = d;
+            d = swap;
+        }
+
+        return p[n] <= threshold ? p[n] : -1;
+    }
+
+    /**
+     * Jaro-Winkler similarity rounded to two decimals, as commons-lang <code>getJaroWinklerDistance</code>.
+     */
+    public static double jaroWinkler(CharSequence first, CharSequence second) {
+        final CharSequence max = first.length() > second.length() ? first : second;
+        final CharSequence min = max == first ? second : first;
+        final int range = Math.max(max.length() / 2 - 1, 0);
+
+        final Buffers b = buffers.get();
+        final int[] matchIndexes = b.ints(0, min.length());
+        final boolean[] matchFlags = b.flags(max.length());
+        Arrays.fill(matchIndexes, 0, min.length(), -1);
+        Arrays.fill(matchFlags, 0, max.length(), false);
+
+        int matches = 0;
+        for (int mi = 0; mi < min.length(); mi++) {
+            final char c1 = min.charAt(mi);
+            for (int xi = Math.max(mi - range, 0), xn = Math.min(mi + range + 1, max.length()); xi < xn; xi++) {
+                if (!matchFlags[xi] && c1 == max.charAt(xi)) {
+                    matchIndexes[mi] = xi;
+                    matchFlags[xi] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+
+        if (matches == 0) {
+            return 0D;
+        }
+
+        // Matched chars of both sides in order, compared pairwise without copying them.
+        int transpositions = 0;
+        for (int mi = 0, xi = 0; mi < min.length(); mi++) {
+            if (matchIndexes[mi] != -1) {
+                while (!matchFlags[xi]) {
+                    xi++;
+                }
+                if (min.charAt(mi) != max.charAt(xi)) {
+                    transpositions++;
+                }
+                xi++;
+            }
+        }
+
+        int prefix = 0;
+        for (int mi = 0; mi < min.length(); mi++) {
+            if (first.charAt(mi) == second.charAt(mi)) {
+                prefix++;
+            } else {
+                break;
+            }
+        }
+
+        final double m = matches;
+        final double j = (m / first.length() + m / second.length() + (m - transpositions / 2) / m) / 3;
+        final double jw = j < 0.7D ? j : j + Math.min(0.1D, 1D / max.length()) * prefix * (1D - j);
+        return Math.round(jw * 100.0D) / 100.0D;
+    }
+
+    /**
+     * Jaccard distance of the sets of chars, as commons-text <code>JaccardDistance</code>.
+     */
+    public static double jaccardDistance(CharSequence left, CharSequence right) {
+        if (left.length() == 0 || right.length() == 0) {
+            return 1D;
+        }
+
+        final Buffers b = buffers.get();
+        final char[] l = b.chars(0, left.length());
+        final char[] r = b.chars(1, right.length());
+        final int ln = distinctSorted(left, l);
+        final int rn = distinctSorted(right, r);
+
+        int intersection = 0;
+        for (int i = 0, k = 0; i < ln && k < rn; ) {
+            if (l[i] == r[k]) {
+                intersection++;
+                i++;
+                k++;
+            } else if (l[i] < r[k]) {
+                i++;
+            } else {
+                k++;
+            }
+        }
+
+        final int union = ln + rn - intersection;
+        return 1D - Math.round(intersection * 100D / union) / 100D;
+    }
+
+    private static int distinctSorted(CharSequence text, char[] buffer) {
+        final int len = text.length();
+        for (int i = 0; i < len; i++) {
+            buffer[i] = text.charAt(i);
+        }
+        Arrays.sort(buffer, 0, len);
+        int distinct = 1;
+        for (int i = 1; i < len; i++) {
+            if (buffer[i] != buffer[distinct - 1]) {
+                buffer[distinct++] = buffer[i];
+            }
+        }
+        return distinct;
+    }
+
+    private static final class Buffers {
+        private final int[][] ints = {new int[64], new int[64]};
+        private final char[][] chars = {new char[64], new char[64]};
+        private boolean[] flags = new boolean[64];
+
+        int[] ints(int slot, int size) {
+            if (ints[slot].length < size) {
+                ints[slot] = new int[Math.max(size, ints[slot].length * 2)];
+            }
+            return ints[slot];
+        }
+
+        char[] chars(int slot, int size) {
+            if (chars[slot].length < size) {
+                chars[slot] = new char[Math.max(size, chars[slot].length * 2)];
+            }
+            return chars[slot];
+        }
+
+        boolean[] flags(int size) {
+            if (flags.length < size) {
+                flags = new boolean[Math.max(size, flags.length * 2)];
+            }
+            return flags;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package net.stargraph.rank.impl;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-model
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.StarGraphException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only word vectors memory-mapped from a file in the word2vec binary format:
+ * a <code>"vocabulary-size dimensions\n"</code> header followed by each word, a space and its little-endian floats.
+ * Only the word offsets live in the heap, vectors are read from the mapping when needed.
+ */
+public final class WordEmbeddings {
+    private static final long SEGMENT_SIZE = 1L << 30;
+    private static final Map<Path, WordEmbeddings> opened = new ConcurrentHashMap<>();
+
+    private static Logger logger = LoggerFactory.getLogger(WordEmbeddings.class);
+    private static Marker marker = MarkerFactory.getMarker("rank");
+
+    private final int dimensions;
+    private final Map<String, Long> offsets;
+    private final Map<String, Long> lowerOffsets;
+    private final MappedByteBuffer[] segments;
+
+    private WordEmbeddings(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+            byte[] headerBytes = readBytes(in, '\n');
+            String[] header = new String(headerBytes, StandardCharsets.US_ASCII).trim().split("\\s+");
+            int size = Integer.parseInt(header[0]);
+            this.dimensions = Integer.parseInt(header[1]);
+            this.offsets = new HashMap<>(size * 4 / 3 + 1);
+            this.lowerOffsets = new HashMap<>();
+
+            long offset = headerBytes.length + 1;
+            final int vectorBytes = dimensions * Float.BYTES;
+            for (int i = 0; i < size; i++) {
+                byte[] word = readBytes(in, ' ');
+                offset += word.length + 1;
+                // Some writers end each vector with a new line
+                int start = 0;
+                while (start < word.length && word[start] == '\n') {
+                    start++;
+                }
+                String key = new String(word, start, word.length - start, StandardCharsets.UTF_8);
+                offsets.putIfAbsent(key, offset);
+                // lower case alias, the exact form always wins
+                String lowerKey = key.toLowerCase();
+                if (!lowerKey.equals(key)) {
+                    lowerOffsets.putIfAbsent(lowerKey, offset);
+                }
+                skipFully(in, vectorBytes);
+                offset += vectorBytes;
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new StarGraphException("Not a word2vec binary file: " + path, e);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // Segments overlap by one vector thus any vector is entirely inside the segment it starts.
+            long fileSize = channel.size();
+            long overlap = (long) dimensions * Float.BYTES;
+            this.segments = new MappedByteBuffer[(int) ((fileSize + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = i * SEGMENT_SIZE;
+                long length = Math.min(SEGMENT_SIZE + overlap, fileSize - start);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+        logger.info(marker, "Mapped {} vectors of {} dimensions from '{}'", offsets.size(), dimensions, path);
+    }
+
+    /**
+     * Opens the embeddings at the given path. Files are mapped once and shared by all callers.
+     */
+    public static WordEmbeddings open(Path path) {
+        return opened.computeIfAbsent(path.toAbsolutePath().normalize(), p -> {
+            try {
+                return new WordEmbeddings(p);
+            } catch (IOException e) {
+                throw new StarGraphException("Can't read embeddings from " + p, e);
+            }
+        });
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public int size() {
+        return offsets.size();
+    }
+
+    public boolean contains(String word) {
+        return offsets.containsKey(word);
+    }
+
+    /**
+     * Adds the vector of the word to the accumulator.
+     *
+     * @return false if the word is unknown.
+     */
+    public boolean addTo(String word, float[] acc) {
+        Long offset = offsets.get(word);
+        if (offset == null) {
+            String lowerWord = word.toLowerCase();
+            offset = offsets.get(lowerWord);
+            if (offset == null) {
+                offset = lowerOffsets.get(lowerWord);
+                if (offset == null) {
+                    return false;
+                }
+            }
+        }
+
+        MappedByteBuffer segment = segments[(int) (offset / SEGMENT_SIZE)];
+        int pos = (int) (offset % SEGMENT_SIZE);
+        for (int i = 0; i < dimensions; i++, pos += Float.BYTES) {
+            acc[i] += segment.getFloat(pos);
+        }
+        return true;
+    }
+
+    /**
+     * Sum of the vectors of the words of the text, camel case is split.
+     *
+     * @return null if no word is known.
+     */
+    public float[] vectorOf(String text) {
+        float[] acc = new float[dimensions];
+        boolean found = addTo(text, acc);
+        if (!found) {
+            for (String word : tokenize(text)) {
+                found |= addTo(word, acc);
+            }
+        }
+        return found ? acc : null;
+    }
+
+    /**
+     * Cosine similarity. Four independent accumulators keep the loop free of a single dependency chain.
+     */
+    public static double cosine(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Dimensions mismatch: " + a.length + " != " + b.length);
+        }
+
+        float dot0 = 0, dot1 = 0, dot2 = 0, dot3 = 0;
+        float na0 = 0, na1 = 0, na2 = 0, na3 = 0;
+        float nb0 = 0, nb1 = 0, nb2 = 0, nb3 = 0;
+        final int bound = a.length & ~3;
+        int i = 0;
+        for (; i < bound; i += 4) {
+            dot0 += a[i] * b[i];
+            dot1 += a[i + 1] * b[i + 1];
+            dot2 += a[i + 2] * b[i + 2];
+            dot3 += a[i + 3] * b[i + 3];
+            na0 += a[i] * a[i];
+            na1 += a[i + 1] * a[i + 1];
+            na2 += a[i + 2] * a[i + 2];
+            na3 += a[i + 3] * a[i + 3];
+            nb0 += b[i] * b[i];
+            nb1 += b[i + 1] * b[i + 1];
+            nb2 += b[i + 2] * b[i + 2];
+            nb3 += b[i + 3] * b[i + 3];
+        }
+        for (; i < a.length; i++) {
+            dot0 += a[i] * b[i];
+            na0 += a[i] * a[i];
+            nb0 += b[i] * b[i];
+        }
+
+        double norm = Math.sqrt((double) (na0 + na1 + na2 + na3)) * Math.sqrt((double) (nb0 + nb1 + nb2 + nb3));
+        return norm == 0 ? 0 : (dot0 + dot1 + dot2 + dot3) / norm;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean boundary = !Character.isLetterOrDigit(c)
+                    || (Character.isUpperCase(c) && i > 0 && Character.isLowerCase(text.charAt(i - 1)));
+            if (boundary && word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    private static byte[] readBytes(InputStream in, char delimiter) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32);
+        int b;
+        while ((b = in.read()) != delimiter) {
+            if (b == -1) {
+                throw new EOFException();
+            }
+            out.write(b);
+        }
+        return out.toByteArray();
+    }
+
+    private static void skipFully(InputStream in, long n) throws IOException {
+        while (n > 0) {
+            long skipped = in.skip(n);
+            if (skipped <= 0) {
+                if (in.read() == -1) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            n -= skipped;
+        }
+    }
+}
@@ -47,7 +47,8 @@ public interface KBResource {
     @Path("{id}/_load/{type}")
     Response load(@PathParam("id") String id, @PathParam("type") String type,
                   @DefaultValue("true") @QueryParam("reset") boolean reset,
-                  @DefaultValue("-1") @QueryParam("limit") int limit);
+                  @DefaultValue("-1") @QueryParam("limit") int limit,
+                  @DefaultValue("false") @QueryParam("resume") boolean resume);
 
     @POST
     @Path("{id}/_load")
@@ -36,8 +36,22 @@ import javax.ws.rs.core.Response;
 @Path("_kb")
 @Produces(MediaType.APPLICATION_JSON)
 public interface QueryResource {
+    String NDJSON = "application/x-ndjson";
 
     @GET
     @Path("{kbId}/query")
     Response query(@PathParam("kbId") String id, @QueryParam("q") String q);
+
+    /**
+     * Pages through a SPARQL select. Pass the returned <code>nextCursor</code> to get the next page.
+     * Use <code>format=ndjson</code> to stream one JSON object per row instead, <code>limit=-1</code> streams all rows.
+     */
+    @GET
+    @Path("{kbId}/select")
+    @Produces({MediaType.APPLICATION_JSON, NDJSON})
+    Response select(@PathParam("kbId") String id, @QueryParam("q") String q,
+                    @DefaultValue("0") @QueryParam("offset") long offset,
+                    @DefaultValue("100") @QueryParam("limit") int limit,
+                    @QueryParam("cursor") String cursor,
+                    @DefaultValue("json") @QueryParam("format") String format);
 }
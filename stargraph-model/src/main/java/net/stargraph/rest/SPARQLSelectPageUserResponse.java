@@ -0,0 +1,61 @@
+package net.stargraph.rest;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-model
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.query.InteractionMode;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public final class SPARQLSelectPageUserResponse extends UserResponse {
+    private List<Map<String, String>> rows;
+    private String nextCursor;
+
+    public SPARQLSelectPageUserResponse(String query, InteractionMode interactionMode) {
+        super(query, interactionMode);
+    }
+
+    public void setRows(List<Map<String, String>> rows) {
+        this.rows = Objects.requireNonNull(rows);
+    }
+
+    public List<Map<String, String>> getRows() {
+        return rows;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return Cursor of the next page or <code>null</code> when this is the last one.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
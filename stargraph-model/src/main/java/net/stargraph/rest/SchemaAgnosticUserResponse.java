@@ -35,6 +35,7 @@ import java.util.Objects;
 public final class SchemaAgnosticUserResponse extends UserResponse {
     private String sparqlQuery;
     private List<EntityEntry> answers;
+    private List<String> textAnswers;
     private Map<String, List<EntityEntry>> mappings;
 
     public SchemaAgnosticUserResponse(String query, InteractionMode interactionMode, String sparqlQuery) {
@@ -46,6 +47,13 @@ public final class SchemaAgnosticUserResponse extends UserResponse {
         this.answers = Objects.requireNonNull(entries);
     }
 
+    /**
+     * Answers that are not entities, i.e. 'true' or 'false' for ASK queries.
+     */
+    public void setTextAnswers(List<String> textAnswers) {
+        this.textAnswers = Objects.requireNonNull(textAnswers);
+    }
+
     public void setMappings(Map<String, List<EntityEntry>> mappings) {
         this.mappings = Objects.requireNonNull(mappings);
     }
@@ -58,6 +66,10 @@ public final class SchemaAgnosticUserResponse extends UserResponse {
         return answers;
     }
 
+    public List<String> getTextAnswers() {
+        return textAnswers;
+    }
+
     public Map<String, List<EntityEntry>> getMappings() {
         return mappings;
     }
@@ -0,0 +1,91 @@
+package net.stargraph.test;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-model
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.ModelUtils;
+import net.stargraph.data.processor.Murmur3Hasher;
+import net.stargraph.model.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public final class HashableTest {
+
+    @Test
+    public void murmur3VectorsTest() {
+        // Expected values computed with Guava's Hashing.murmur3_128() fed with the same primitives.
+        Assert.assertEquals(hex(new Murmur3Hasher().putString("").putBoolean(true).hash()),
+                "b6e9409aed856c7b6ca903431b99f790");
+        Assert.assertEquals(hex(new Murmur3Hasher().putString("a").putBoolean(true).hash()),
+                "e01683a7e48d367719dfb6fdc17d52d2");
+        Assert.assertEquals(hex(new Murmur3Hasher().putString("http://dbpedia.org/resource/Barack_Obama").putBoolean(true).hash()),
+                "bbbdfde439a2d5f5d1ad060a05921efa");
+        Assert.assertEquals(hex(new Murmur3Hasher().putString("0123456789abcdef0123456789abcdefX").putBoolean(true).hash()),
+                "ff6126bac5126e0186f90b72704fe900");
+    }
+
+    @Test
+    public void reuseTest() {
+        Murmur3Hasher hasher = new Murmur3Hasher();
+        byte[] first = hasher.putString("http://dbpedia.org/resource/Barack_Obama").hash();
+        byte[] second = hasher.reset().putString("http://dbpedia.org/resource/Barack_Obama").hash();
+        Assert.assertEquals(second, first);
+    }
+
+    @Test
+    public void sameIdentitySameHashTest() {
+        InstanceEntity e1 = new InstanceEntity("dbr:Barack_Obama", "Barack Obama");
+        InstanceEntity e2 = new InstanceEntity("dbr:Barack_Obama", "Obama");
+        Assert.assertEquals(e1, e2);
+        Assert.assertEquals(e1.hash(), e2.hash());
+        Assert.assertEquals(e1.hash().length, 16);
+    }
+
+    @Test
+    public void differentTypeDifferentHashTest() {
+        InstanceEntity instance = new InstanceEntity("dbr:President", "President");
+        ClassEntity clazz = new ClassEntity("dbr:President", "President", false);
+        Assert.assertNotEquals(instance.hash(), clazz.hash());
+    }
+
+    @Test
+    public void factHashTest() {
+        KBId kbId = KBId.of("obama", "facts");
+        Fact f1 = ModelUtils.createFact(kbId, "dbr:Barack_Obama", "dbo:spouse", "dbr:Michelle_Obama");
+        Fact f2 = ModelUtils.createFact(kbId, "dbr:Barack_Obama", "dbo:spouse", "dbr:Michelle_Obama");
+        Fact f3 = ModelUtils.createFact(kbId, "dbr:Michelle_Obama", "dbo:spouse", "dbr:Barack_Obama");
+        Assert.assertEquals(f1.hash(), f2.hash());
+        Assert.assertNotEquals(f1.hash(), f3.hash());
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
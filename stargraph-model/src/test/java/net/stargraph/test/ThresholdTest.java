@@ -35,6 +35,9 @@ import org.testng.annotations.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 public final class ThresholdTest {
     Scores scores = new Scores(Arrays.asList(
@@ -85,4 +88,35 @@ public final class ThresholdTest {
         Scores filtered = ThresholdFilter.filter(scores, Threshold.auto());
         Assert.assertEquals(filtered, scores);
     }
+
+    @Test
+    public void topKTest() {
+        Random random = new Random(7);
+        Threshold[] thresholds = {Threshold.auto(), Threshold.min(50), Threshold.max(50)};
+        for (int run = 0; run < 200; run++) {
+            int size = 1 + random.nextInt(40);
+            Scores entries = new Scores(size);
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                entries.add(new Score("e" + i, 0));
+                // few distinct values to exercise ties
+                values[i] = run % 2 == 0 ? random.nextInt(10) * 10 : random.nextDouble() * 100;
+            }
+
+            Scores rescored = new Scores(size);
+            for (int i = 0; i < size; i++) {
+                rescored.add(new Score(entries.get(i).getEntry(), values[i]));
+            }
+            rescored.sort(true);
+
+            for (Threshold threshold : thresholds) {
+                Scores all = ThresholdFilter.filter(rescored, threshold);
+                for (int topK : new int[]{-1, 0, 1, 3, size}) {
+                    List<Score> expected = topK < 0 ? all : all.stream().limit(topK).collect(Collectors.toList());
+                    Assert.assertEquals(ThresholdFilter.filter(entries, values, threshold, topK), expected,
+                            threshold + " topK=" + topK);
+                }
+            }
+        }
+    }
 }
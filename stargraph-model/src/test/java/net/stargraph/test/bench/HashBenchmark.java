@@ -0,0 +1,101 @@
+package net.stargraph.test.bench;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-model
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.ModelUtils;
+import net.stargraph.data.processor.Hashable;
+import net.stargraph.model.Fact;
+import net.stargraph.model.InstanceEntity;
+import net.stargraph.model.KBId;
+import net.stargraph.model.PropertyEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Murmur3 identity hash against the former SHA-1 of the Java serialization.
+ * Not a unit test, run its main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashBenchmark {
+
+    private Fact fact;
+    private InstanceEntity instance;
+    private PropertyEntity property;
+
+    @Setup
+    public void setup() {
+        KBId kbId = KBId.of("dbpedia-2016", "facts");
+        fact = ModelUtils.createFact(kbId, "http://dbpedia.org/resource/Barack_Obama",
+                "http://dbpedia.org/ontology/spouse", "http://dbpedia.org/resource/Michelle_Obama");
+        instance = ModelUtils.createInstance("http://dbpedia.org/resource/Barack_Obama");
+        property = ModelUtils.createProperty("http://dbpedia.org/ontology/spouse");
+    }
+
+    @Benchmark
+    public byte[] factMurmur3() {
+        return ModelUtils.createHashId((Hashable) fact);
+    }
+
+    @Benchmark
+    public byte[] factSerializedSHA1() {
+        return ModelUtils.createHashId((Serializable) fact);
+    }
+
+    @Benchmark
+    public byte[] instanceMurmur3() {
+        return ModelUtils.createHashId((Hashable) instance);
+    }
+
+    @Benchmark
+    public byte[] instanceSerializedSHA1() {
+        return ModelUtils.createHashId((Serializable) instance);
+    }
+
+    @Benchmark
+    public byte[] propertyMurmur3() {
+        return ModelUtils.createHashId((Hashable) property);
+    }
+
+    @Benchmark
+    public byte[] propertySerializedSHA1() {
+        return ModelUtils.createHashId((Serializable) property);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HashBenchmark.class.getSimpleName()).build()).run();
+    }
+}
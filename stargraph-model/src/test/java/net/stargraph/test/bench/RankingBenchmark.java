@@ -0,0 +1,124 @@
+package net.stargraph.test.bench;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-model
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.rank.*;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Top-K bounded ranking against ranking, sorting and filtering all candidates then keeping the first K.
+ * Not a unit test, run its main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankingBenchmark {
+
+    @Param({"10000"})
+    private int candidates;
+
+    @Param({"3", "100"})
+    private int topK;
+
+    private Scores scores;
+    private Rankable target;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        scores = new Scores(candidates);
+        for (int i = 0; i < candidates; i++) {
+            scores.add(new Score(rankable(randomLabel(random)), random.nextDouble()));
+        }
+        target = rankable("barack obama");
+    }
+
+    @Benchmark
+    public Scores boundedTopK() {
+        return Rankers.apply(scores, ParamsBuilder.levenshtein(), target, topK);
+    }
+
+    @Benchmark
+    public List<Score> sortAllThenLimit() {
+        // What Rankers.apply and its callers used to do.
+        Scores rescored = new Scores(scores.size());
+        scores.forEach(s -> rescored.add(new Score(s.getEntry(),
+                1.0 / (StringUtils.getLevenshteinDistance(s.getRankableView().getValue(), target.getValue()) + 1))));
+        rescored.sort(true);
+        return ThresholdFilter.filter(rescored, Threshold.auto()).stream().limit(topK).collect(Collectors.toList());
+    }
+
+    private static String randomLabel(Random random) {
+        StringBuilder label = new StringBuilder();
+        int words = 1 + random.nextInt(3);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                label.append(' ');
+            }
+            int length = 3 + random.nextInt(8);
+            for (int c = 0; c < length; c++) {
+                label.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return label.toString();
+    }
+
+    private static Rankable rankable(String value) {
+        return new Rankable() {
+            @Override
+            public String getValue() {
+                return value;
+            }
+
+            @Override
+            public String getId() {
+                return value;
+            }
+
+            @Override
+            public String toString() {
+                return value;
+            }
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RankingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
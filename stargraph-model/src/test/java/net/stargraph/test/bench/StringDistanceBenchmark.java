@@ -0,0 +1,120 @@
+package net.stargraph.test.bench;
+
+/*-
+ * ==========================License-Start=============================
+ * stargraph-model
+ * --------------------------------------------------------------------
+ * Copyright (C) 2017 Lambda^3
+ * --------------------------------------------------------------------
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * ==========================License-End===============================
+ */
+
+import net.stargraph.rank.impl.StringDistances;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.beta.similarity.JaccardDistance;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffer reusing distances against the commons-lang / commons-text ones, over a batch of label pairs.
+ * Not a unit test, run its main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringDistanceBenchmark {
+
+    private static final String TARGET = "barack obama";
+    private static final String[] CANDIDATES = {
+            "Barack Obama", "Barack Obama Sr.", "Michelle Obama", "Obama", "Presidency of Barack Obama",
+            "Barack Obama Academy", "Malia Obama", "Joe Biden", "United States Senate", "Honolulu",
+            "Punahou School", "Columbia University", "Harvard Law School", "Nobel Peace Prize", "Chicago"
+    };
+
+    private JaccardDistance jaccard = new JaccardDistance();
+
+    @Benchmark
+    public void levenshteinCommons(Blackhole bh) {
+        for (String c : CANDIDATES) {
+            bh.consume(StringUtils.getLevenshteinDistance(c, TARGET));
+        }
+    }
+
+    @Benchmark
+    public void levenshtein(Blackhole bh) {
+        for (String c : CANDIDATES) {
+            bh.consume(StringDistances.levenshtein(c, TARGET));
+        }
+    }
+
+    @Benchmark
+    public void levenshteinBoundedCommons(Blackhole bh) {
+        for (String c : CANDIDATES) {
+            bh.consume(StringUtils.getLevenshteinDistance(c, TARGET, 3));
+        }
+    }
+
+    @Benchmark
+    public void levenshteinBounded(Blackhole bh) {
+        for (String c : CANDIDATES) {
+            bh.consume(StringDistances.levenshtein(c, TARGET, 3));
+        }
+    }
+
+    @Benchmark
+    public void jaroWinklerCommons(Blackhole bh) {
+        for (String c : CANDIDATES) {
+            bh.consume(StringUtils.getJaroWinklerDistance(c, TARGET));
+        }
+    }
+
+    @Benchmark
+    public void jaroWinkler(Blackhole bh) {
+        for (String c : CANDIDATES) {
+            bh.consume(StringDistances.jaroWinkler(c, TARGET));
+        }
+    }
+
+    @Benchmark
+    public void jaccardCommons(Blackhole bh) {
+        for (String c : CANDIDATES) {
+            bh.consume(jaccard.apply(c, TARGET));
+        }
+    }
+
+    @Benchmark
+    public void jaccard(Blackhole bh) {
+        for (String c : CANDIDATES) {
+            bh.consume(StringDistances.jaccardDistance(c, TARGET));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StringDistanceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -31,10 +31,13 @@ import net.stargraph.rank.ParamsBuilder;
 import net.stargraph.rank.Ranker;
 import net.stargraph.rank.Scores;
 import net.stargraph.rank.impl.IndraRanker;
+import net.stargraph.rank.impl.RelatednessClient;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static net.stargraph.test.rank.RankTestUtils.createRankable;
 import static net.stargraph.test.rank.RankTestUtils.createScore;
@@ -53,6 +56,23 @@ public final class RankerIT {
         Assert.assertEquals(rescored.get(0).getRankableView().getValue(), "husband");
     }
 
+    @Test
+    public void batchedClientTest() {
+        try (RelatednessClient client = new RelatednessClient(50, 1000, 1000, 2, 30000)) {
+            ModifiableIndraParams params = ParamsBuilder.word2vec().corpus("wiki-2014").language("EN").url(getIndraURL());
+
+            CompletableFuture<Map<String, Double>> wife = client.relatedness(params, "wife", Arrays.asList("husband", "car"));
+            CompletableFuture<Map<String, Double>> son = client.relatedness(params, "son", Arrays.asList("father", "car"));
+            Assert.assertTrue(wife.join().get("husband") > wife.join().get("car"));
+            Assert.assertTrue(son.join().get("father") > son.join().get("car"));
+            Assert.assertEquals(client.getCalls(), 1);
+
+            client.relatedness(params, "wife", Arrays.asList("husband", "car")).join();
+            Assert.assertEquals(client.getCalls(), 1);
+            Assert.assertEquals(client.getCacheHits(), 2);
+        }
+    }
+
     private static String getIndraURL() {
         return System.getProperty("stargraph.distributional-service.rest-url", "http://indra.lambda3.org/relatedness");
     }
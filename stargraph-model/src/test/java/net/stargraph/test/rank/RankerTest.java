@@ -26,12 +26,28 @@ package net.stargraph.test.rank;
  * ==========================License-End===============================
  */
 
+import net.stargraph.rank.ParamsBuilder;
+import net.stargraph.rank.Rankers;
 import net.stargraph.rank.Scores;
+import net.stargraph.rank.Threshold;
+import net.stargraph.rank.impl.EmbeddingRanker;
 import net.stargraph.rank.impl.LevenshteinRanker;
+import net.stargraph.rank.impl.StringDistances;
+import net.stargraph.rank.impl.WordEmbeddings;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.beta.similarity.JaccardDistance;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Random;
 
 import static net.stargraph.test.rank.RankTestUtils.createRankable;
 import static net.stargraph.test.rank.RankTestUtils.createScore;
@@ -49,4 +65,83 @@ public final class RankerTest {
         Assert.assertEquals(rescored.get(0).getRankableView().getValue(), "lambda^3");
         Assert.assertEquals(rescored.get(0).getValue(), 1.0);
     }
+
+    @Test
+    public void stringDistancesTest() {
+        Random random = new Random(3);
+        JaccardDistance jaccard = new JaccardDistance();
+        for (int i = 0; i < 5000; i++) {
+            String s = randomString(random);
+            String t = random.nextInt(4) == 0 ? s : randomString(random);
+            int expected = StringUtils.getLevenshteinDistance(s, t);
+            Assert.assertEquals(StringDistances.levenshtein(s, t), expected, s + " / " + t);
+            for (int threshold : new int[]{0, 1, 2, 5, 30}) {
+                Assert.assertEquals(StringDistances.levenshtein(s, t, threshold), expected <= threshold ? expected : -1,
+                        s + " / " + t + " threshold " + threshold);
+            }
+            Assert.assertEquals(StringDistances.jaroWinkler(s, t), StringUtils.getJaroWinklerDistance(s, t), s + " / " + t);
+            if (!s.isEmpty() && !t.isEmpty()) {
+                Assert.assertEquals(StringDistances.jaccardDistance(s, t), jaccard.apply(s, t), 1e-9, s + " / " + t);
+            }
+        }
+    }
+
+    @Test
+    public void boundedLevenshteinRankTest() {
+        Scores scores = new Scores(Arrays.asList(createScore("lambda3", 100), createScore("Lambda^30", 94),
+                createScore("something else", 51), createScore("lambda^3", 1)));
+
+        Scores rescored = Rankers.apply(scores, ParamsBuilder.levenshtein().threshold(Threshold.min(0.3)), createRankable("lambda^3"));
+        Assert.assertEquals(rescored.size(), 3); // 1.0, 0.5 and 0.33
+        Assert.assertEquals(rescored.get(0).getRankableView().getValue(), "lambda^3");
+    }
+
+    private static String randomString(Random random) {
+        char[] chars = new char[random.nextInt(14)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(6));
+        }
+        return new String(chars);
+    }
+
+    @Test
+    public void embeddingRankerTest() throws IOException {
+        Path file = writeEmbeddings(new String[]{"wife", "husband", "partner", "Father", "car"}, new float[][]{
+                {1f, 1f, 0f, 0.1f, 0.5f}, {0.9f, 1f, 0f, 0.2f, 0.5f}, {0.7f, 0.6f, 0.3f, 0f, 0.1f},
+                {0.2f, 0.9f, 0f, 1f, 0f}, {0f, 0f, 1f, 0f, 0f}});
+
+        WordEmbeddings embeddings = WordEmbeddings.open(file);
+        Assert.assertEquals(embeddings.size(), 5);
+        Assert.assertEquals(embeddings.getDimensions(), 5);
+        Assert.assertEquals(WordEmbeddings.cosine(embeddings.vectorOf("wife"), embeddings.vectorOf("wife")), 1.0, 1e-6);
+        Assert.assertEquals(WordEmbeddings.cosine(embeddings.vectorOf("wife"), embeddings.vectorOf("car")), 0.0, 1e-6);
+        Assert.assertNotNull(embeddings.vectorOf("father")); // falls back to lower case
+        Assert.assertNull(embeddings.vectorOf("unknown"));
+
+        Scores scores = new Scores(Arrays.asList(createScore("car", 100), createScore("husband", 100),
+                createScore("unknown", 94), createScore("partner", 51), createScore("Father", 1)));
+
+        Scores rescored = new EmbeddingRanker(ParamsBuilder.embeddings(file.toString())).score(scores, createRankable("wife"));
+        Assert.assertEquals(rescored.get(0).getRankableView().getValue(), "husband");
+        Assert.assertEquals(rescored.get(1).getRankableView().getValue(), "partner");
+        Assert.assertEquals(rescored.get(rescored.size() - 1).getValue(), 0.0);
+    }
+
+    private static Path writeEmbeddings(String[] words, float[][] vectors) throws IOException {
+        Path file = Files.createTempFile("embeddings", ".bin");
+        file.toFile().deleteOnExit();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write((words.length + " " + vectors[0].length + "\n").getBytes(StandardCharsets.US_ASCII));
+            for (int i = 0; i < words.length; i++) {
+                out.write((words[i] + " ").getBytes(StandardCharsets.UTF_8));
+                ByteBuffer buffer = ByteBuffer.allocate(vectors[i].length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                for (float v : vectors[i]) {
+                    buffer.putFloat(v);
+                }
+                out.write(buffer.array());
+                out.write('\n');
+            }
+        }
+        return file;
+    }
 }
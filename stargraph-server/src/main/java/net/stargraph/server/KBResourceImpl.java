@@ -74,10 +74,10 @@ final class KBResourceImpl implements KBResource {
     }
 
     @Override
-    public Response load(String id, String type, boolean reset, int limit) {
+    public Response load(String id, String type, boolean reset, int limit, boolean resume) {
         KBCore core = stargraph.getKBCore(id);
         Indexer indexer = core.getIndexer(type);
-        indexer.load(reset, limit);
+        indexer.load(reset, limit, resume);
         return ResourceUtils.createAckResponse(true);
     }
 
@@ -26,20 +26,33 @@ package net.stargraph.server;
  * ==========================License-End===============================
  */
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import net.stargraph.core.Stargraph;
+import net.stargraph.core.graph.GraphSearcher;
+import net.stargraph.core.graph.SelectCursor;
+import net.stargraph.core.graph.SelectPage;
 import net.stargraph.core.query.QueryEngine;
 import net.stargraph.core.query.QueryResponse;
 import net.stargraph.core.query.response.AnswerSetResponse;
 import net.stargraph.core.query.response.NoResponse;
 import net.stargraph.core.query.response.SPARQLSelectResponse;
 import net.stargraph.model.LabeledEntity;
+import net.stargraph.query.InteractionMode;
 import net.stargraph.rest.*;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.QueryParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -49,10 +62,15 @@ public final class QueryResourceImpl implements QueryResource {
     private Marker marker = MarkerFactory.getMarker("server");
     private Stargraph core;
     private Map<String, QueryEngine> engines;
+    private Map<String, GraphSearcher> graphSearchers;
+    private ObjectMapper mapper;
 
     public QueryResourceImpl(Stargraph core) {
         this.core = Objects.requireNonNull(core);
         this.engines = new ConcurrentHashMap<>();
+        this.graphSearchers = new ConcurrentHashMap<>();
+        // Rows are written one by one to the same response stream.
+        this.mapper = new ObjectMapper().configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
     }
 
     @Override
@@ -71,6 +89,69 @@ public final class QueryResourceImpl implements QueryResource {
         return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
     }
 
+    @Override
+    public Response select(String id, String q, long offset, int limit, String cursor, String format) {
+        try {
+            if (!core.hasKB(id)) {
+                return Response.status(Response.Status.NOT_FOUND).build();
+            }
+
+            if (q == null || offset < 0) {
+                return Response.status(Response.Status.BAD_REQUEST).build();
+            }
+
+            GraphSearcher searcher = graphSearchers.computeIfAbsent(id, (k) -> core.getKBCore(k).createGraphSearcher());
+            long start = cursor != null ? SelectPage.decodeCursor(cursor) : offset;
+
+            if ("ndjson".equalsIgnoreCase(format)) {
+                // Validates the query before committing to the streamed response.
+                Query query = QueryFactory.create(q);
+                if (!query.isSelectType()) {
+                    return Response.status(Response.Status.BAD_REQUEST).build();
+                }
+                // The cursor is only opened when the response is written, never leaked if that doesn't happen.
+                StreamingOutput stream = out -> writeRows(searcher.select(query, start, limit), out);
+                return Response.status(Response.Status.OK).entity(stream).type(NDJSON).build();
+            }
+            else if ("json".equalsIgnoreCase(format)) {
+                if (limit <= 0) {
+                    return Response.status(Response.Status.BAD_REQUEST).build();
+                }
+                SelectPage page = SelectPage.fetch(searcher, q, SelectPage.encodeCursor(start), limit);
+                SPARQLSelectPageUserResponse response = new SPARQLSelectPageUserResponse(q, InteractionMode.SPARQL);
+                response.setRows(page.getRows().stream().map(QueryResourceImpl::toIds).collect(Collectors.toList()));
+                response.setNextCursor(page.getNextCursor());
+                return Response.status(Response.Status.OK).entity(response).type(MediaType.APPLICATION_JSON).build();
+            }
+
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+        catch (IllegalArgumentException | QueryParseException e) {
+            logger.warn(marker, "Invalid select: '{}' on '{}': {}", q, id, e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+        catch (Exception e) {
+            logger.error(marker, "Select execution failed: '{}' on '{}'", q, id, e);
+        }
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+    }
+
+    private void writeRows(SelectCursor selectCursor, OutputStream out) throws IOException {
+        try (SelectCursor rows = selectCursor) {
+            while (rows.hasNext()) {
+                mapper.writeValue(out, toIds(rows.next()));
+                out.write('\n');
+            }
+            out.flush();
+        }
+    }
+
+    private static Map<String, String> toIds(Map<String, LabeledEntity> row) {
+        Map<String, String> ids = new LinkedHashMap<>();
+        row.forEach((var, entity) -> ids.put(var, entity != null ? entity.getId() : null));
+        return ids;
+    }
+
     public UserResponse buildUserResponse(QueryResponse queryResponse) {
 
         if (queryResponse instanceof NoResponse) {
@@ -86,6 +167,11 @@ public final class QueryResourceImpl implements QueryResource {
 
             response.setAnswers(answers);
 
+            if (answerSet.getTextAnswer() != null) {
+                // ASK answers, i.e. 'true' or 'false'.
+                response.setTextAnswers(answerSet.getTextAnswer());
+            }
+
             final Map<String, List<UserResponse.EntityEntry>> mappings = new HashMap<>();
             answerSet.getMappings().forEach((modelBinding, scoreList) -> {
                 List<UserResponse.EntityEntry> entries = scoreList.stream()